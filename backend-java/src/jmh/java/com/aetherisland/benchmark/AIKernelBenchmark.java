@@ -0,0 +1,77 @@
+package com.aetherisland.benchmark;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.service.SimulationRandom;
+import com.aetherisland.service.SpiritlingAIKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpiritlingAIKernel(자율 행동 AI) 벤치마크
+ * 틱과 같이 정령마다 SimulationRandom으로 난수열을 만들고, 행동 로그는 Blackhole로 보냄
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIKernelBenchmark {
+    @Param({"1000", "100000"})
+    int population;
+    
+    @Param({"balanced", "idle_heavy", "needy"})
+    String mix;
+    
+    private final SpiritlingAIKernel kernel = new SpiritlingAIKernel();
+    private List<Spiritling> template;
+    private List<Spiritling> spiritlings;
+    private long tickSeed;
+    
+    @Setup(Level.Trial)
+    public void createPopulation() {
+        template = BenchmarkPopulation.create(mix, population);
+        spiritlings = BenchmarkPopulation.copyOf(template);
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetPopulation() {
+        BenchmarkPopulation.reset(spiritlings, template);
+        tickSeed++;
+    }
+    
+    @Benchmark
+    public int act(Blackhole blackhole) {
+        SpiritlingAIKernel.ActionLogSink logs = (spiritlingId, actionType, message) -> blackhole.consume(message);
+        int changed = 0;
+        for (Spiritling spiritling : spiritlings) {
+            if (kernel.act(spiritling, SimulationRandom.forSpiritling(tickSeed, spiritling.getId()), false, logs)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+    
+    @Benchmark
+    public void autonomousAction(Blackhole blackhole) {
+        SpiritlingAIKernel.ActionLogSink logs = (spiritlingId, actionType, message) -> blackhole.consume(message);
+        for (Spiritling spiritling : spiritlings) {
+            blackhole.consume(kernel.autonomousAction(spiritling,
+                SimulationRandom.forSpiritling(tickSeed, spiritling.getId()), logs));
+        }
+    }
+}
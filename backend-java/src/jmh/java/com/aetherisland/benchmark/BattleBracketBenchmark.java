@@ -0,0 +1,67 @@
+package com.aetherisland.benchmark;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.service.BattleBracketEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BattleBracketEngine(battle 대회 토너먼트) 벤치마크
+ * 참가자 수별로 토너먼트 전체(모든 라운드) 실행 시간을 측정. threads=0이면 CPU 코어 수
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BattleBracketBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int entrants;
+
+    @Param({"1", "0"})
+    int threads;
+
+    private BattleBracketEngine.Entrants bracket;
+    private ExecutorService workers;
+    private BattleBracketEngine engine;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createBracket() {
+        bracket = new BattleBracketEngine.Entrants(entrants);
+        for (Spiritling s : BenchmarkPopulation.create("balanced", entrants)) {
+            bracket.add(s.getHealthStat(), s.getAgilityStat(), s.getResilienceStat(), s.getLuckStat());
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        workers = poolSize > 1 ? Executors.newFixedThreadPool(poolSize) : null;
+        engine = new BattleBracketEngine(workers, poolSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int[] run() {
+        return engine.run(bracket, seed++);
+    }
+}
@@ -0,0 +1,155 @@
+package com.aetherisland.benchmark;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.service.SpiritlingColumns;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 정령 집단 생성
+ * 같은 mix·크기면 항상 같은 집단을 만들고, 측정 사이에 원래 상태로 되돌리는 기능을 제공
+ */
+public final class BenchmarkPopulation {
+    private static final long SEED = 0x5EED_1A5DL;
+    
+    private static final String[] PERSONALITIES = {
+        "normal", "hard_worker", "lazy", "glutton", "loner", "playful"
+    };
+    private static final String[] ACTIONS = {
+        "idle", "training", "resting", "farming", "exploring", "playing"
+    };
+    
+    private BenchmarkPopulation() {
+    }
+    
+    /**
+     * @param mix balanced: 성격·작업·상태 균등 분포
+     *            idle_heavy: 80%가 자유 행동 (접속하지 않은 유저가 대부분인 실제 분포)
+     *            needy: 배고픔·행복도가 낮고 레벨업 직전인 정령 위주 (자율 행동·레벨업 분기가 자주 실행됨)
+     */
+    public static List<Spiritling> create(String mix, int size) {
+        SplittableRandom random = new SplittableRandom(SEED ^ mix.hashCode());
+        List<Spiritling> spiritlings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Spiritling s = new Spiritling();
+            s.setId(String.format("bench-%08d", i));
+            s.setUserId("user-" + (i % 1000));
+            s.setName("정령" + i);
+            s.setPersonality(PERSONALITIES[random.nextInt(PERSONALITIES.length)]);
+            s.setGrowthStage("infant");
+            
+            int level = 1 + random.nextInt(30);
+            s.setLevel(level);
+            s.setHealthStat(10 + random.nextInt(91));
+            s.setAgilityStat(10 + random.nextInt(91));
+            s.setIntelligenceStat(10 + random.nextInt(91));
+            s.setFriendlinessStat(10 + random.nextInt(91));
+            s.setResilienceStat(10 + random.nextInt(91));
+            s.setLuckStat(10 + random.nextInt(91));
+            s.setHealthStatus(random.nextInt(101));
+            s.setCleanliness(random.nextInt(101));
+            
+            switch (mix) {
+                case "idle_heavy":
+                    s.setCurrentAction(random.nextInt(10) < 8 ? "idle" : ACTIONS[1 + random.nextInt(ACTIONS.length - 1)]);
+                    s.setExperience(random.nextInt(level * 100));
+                    s.setHunger(random.nextInt(101));
+                    s.setHappiness(random.nextInt(101));
+                    s.setEnergy(random.nextInt(101));
+                    break;
+                case "needy":
+                    s.setCurrentAction(ACTIONS[random.nextInt(ACTIONS.length)]);
+                    s.setExperience(level * 100 - 1 - random.nextInt(5));
+                    s.setHunger(random.nextInt(40));
+                    s.setHappiness(random.nextInt(50));
+                    s.setEnergy(50 + random.nextInt(51));
+                    break;
+                case "balanced":
+                default:
+                    s.setCurrentAction(ACTIONS[random.nextInt(ACTIONS.length)]);
+                    s.setExperience(random.nextInt(level * 100));
+                    s.setHunger(random.nextInt(101));
+                    s.setHappiness(random.nextInt(101));
+                    s.setEnergy(random.nextInt(101));
+                    break;
+            }
+            spiritlings.add(s);
+        }
+        return spiritlings;
+    }
+    
+    public static List<Spiritling> copyOf(List<Spiritling> template) {
+        List<Spiritling> copies = new ArrayList<>(template.size());
+        for (Spiritling s : template) {
+            Spiritling copy = new Spiritling();
+            copy.setId(s.getId());
+            copy.setUserId(s.getUserId());
+            copy.setName(s.getName());
+            copy.setPersonality(s.getPersonality());
+            copy.setCurrentAction(s.getCurrentAction());
+            copies.add(copy);
+        }
+        reset(copies, template);
+        return copies;
+    }
+    
+    /**
+     * 측정으로 바뀐 상태를 원래 값으로 되돌림
+     * 원본의 Integer 참조를 그대로 옮기므로 할당이 없어 gc 프로파일러 결과에 섞이지 않음
+     */
+    public static void reset(List<Spiritling> work, List<Spiritling> template) {
+        for (int i = 0; i < work.size(); i++) {
+            Spiritling s = work.get(i);
+            Spiritling t = template.get(i);
+            s.setGrowthStage(t.getGrowthStage());
+            s.setLevel(t.getLevel());
+            s.setExperience(t.getExperience());
+            s.setHealthStat(t.getHealthStat());
+            s.setAgilityStat(t.getAgilityStat());
+            s.setIntelligenceStat(t.getIntelligenceStat());
+            s.setFriendlinessStat(t.getFriendlinessStat());
+            s.setResilienceStat(t.getResilienceStat());
+            s.setLuckStat(t.getLuckStat());
+            s.setHunger(t.getHunger());
+            s.setHappiness(t.getHappiness());
+            s.setEnergy(t.getEnergy());
+            s.setHealthStatus(t.getHealthStatus());
+            s.setCleanliness(t.getCleanliness());
+        }
+    }
+    
+    public static SpiritlingColumns columnsOf(List<Spiritling> template) {
+        SpiritlingColumns columns = new SpiritlingColumns(template.size());
+        for (Spiritling s : template) {
+            columns.put(s);
+        }
+        return columns;
+    }
+    
+    /**
+     * 컬럼 배열을 원본 상태로 되돌림 (System.arraycopy만 사용)
+     */
+    public static void reset(SpiritlingColumns work, SpiritlingColumns template) {
+        int n = template.size();
+        System.arraycopy(template.growthStage, 0, work.growthStage, 0, n);
+        System.arraycopy(template.level, 0, work.level, 0, n);
+        System.arraycopy(template.experience, 0, work.experience, 0, n);
+        System.arraycopy(template.healthStat, 0, work.healthStat, 0, n);
+        System.arraycopy(template.agilityStat, 0, work.agilityStat, 0, n);
+        System.arraycopy(template.intelligenceStat, 0, work.intelligenceStat, 0, n);
+        System.arraycopy(template.friendlinessStat, 0, work.friendlinessStat, 0, n);
+        System.arraycopy(template.resilienceStat, 0, work.resilienceStat, 0, n);
+        System.arraycopy(template.luckStat, 0, work.luckStat, 0, n);
+        System.arraycopy(template.hunger, 0, work.hunger, 0, n);
+        System.arraycopy(template.happiness, 0, work.happiness, 0, n);
+        System.arraycopy(template.energy, 0, work.energy, 0, n);
+        System.arraycopy(template.healthStatus, 0, work.healthStatus, 0, n);
+        System.arraycopy(template.cleanliness, 0, work.cleanliness, 0, n);
+        System.arraycopy(template.pendingGold, 0, work.pendingGold, 0, n);
+        System.arraycopy(template.events, 0, work.events, 0, n);
+        System.arraycopy(template.activity, 0, work.activity, 0, n);
+        System.arraycopy(template.dirty, 0, work.dirty, 0, template.dirty.length);
+    }
+}
@@ -0,0 +1,70 @@
+package com.aetherisland.benchmark;
+
+import com.aetherisland.service.ColumnarSimulationKernel;
+import com.aetherisland.service.SpiritlingColumns;
+import com.aetherisland.service.SpiritlingHotStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ColumnarSimulationKernel(simulation.mode=columnar) 벤치마크
+ * SimulationKernelBenchmark·AIKernelBenchmark와 같은 집단으로 객체 기반 커널과 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarKernelBenchmark {
+    @Param({"1000", "100000"})
+    int population;
+    
+    @Param({"balanced", "idle_heavy", "needy"})
+    String mix;
+    
+    // 틱 한 번(TICK_MINUTES분), 60분: 오랜만에 진행하는 경우
+    @Param({"" + SpiritlingHotStore.TICK_MINUTES, "60"})
+    int minutes;
+    
+    private final ColumnarSimulationKernel kernel = new ColumnarSimulationKernel();
+    private SpiritlingColumns template;
+    private SpiritlingColumns columns;
+    private long tickSeed;
+    
+    @Setup(Level.Trial)
+    public void createPopulation() {
+        template = BenchmarkPopulation.columnsOf(BenchmarkPopulation.create(mix, population));
+        columns = BenchmarkPopulation.columnsOf(BenchmarkPopulation.create(mix, population));
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetPopulation() {
+        BenchmarkPopulation.reset(columns, template);
+        tickSeed++;
+    }
+    
+    @Benchmark
+    public int[] simulate() {
+        kernel.simulate(columns, 0, columns.size(), minutes);
+        return columns.pendingGold;
+    }
+    
+    @Benchmark
+    public long[] act() {
+        kernel.act(columns, 0, columns.size(), tickSeed);
+        return columns.dirty;
+    }
+}
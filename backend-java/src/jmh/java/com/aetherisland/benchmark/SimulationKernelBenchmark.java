@@ -0,0 +1,84 @@
+package com.aetherisland.benchmark;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.service.SpiritlingHotStore;
+import com.aetherisland.service.SpiritlingSimulationKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpiritlingSimulationKernel 벤치마크
+ * 한 op = 집단 전체를 한 번 처리 (정령 한 마리당 비용은 결과를 population으로 나눠 계산)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationKernelBenchmark {
+    @Param({"1000", "100000"})
+    int population;
+    
+    @Param({"balanced", "idle_heavy", "needy"})
+    String mix;
+    
+    // 틱 한 번(TICK_MINUTES분), 60분: lazy 모드에서 오랜만에 조회한 경우
+    // (1분이면 minutes / N 감소 항이 모두 0이 되어 감소 없는 경로만 측정됨)
+    @Param({"" + SpiritlingHotStore.TICK_MINUTES, "60"})
+    int minutes;
+    
+    private final SpiritlingSimulationKernel kernel = new SpiritlingSimulationKernel();
+    private List<Spiritling> template;
+    private List<Spiritling> spiritlings;
+    
+    @Setup(Level.Trial)
+    public void createPopulation() {
+        template = BenchmarkPopulation.create(mix, population);
+        spiritlings = BenchmarkPopulation.copyOf(template);
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetPopulation() {
+        BenchmarkPopulation.reset(spiritlings, template);
+    }
+    
+    @Benchmark
+    public int simulate() {
+        int gold = 0;
+        for (Spiritling spiritling : spiritlings) {
+            gold += kernel.simulate(spiritling, minutes);
+        }
+        return gold;
+    }
+    
+    @Benchmark
+    public void applyPersonalityEffects(Blackhole blackhole) {
+        for (Spiritling spiritling : spiritlings) {
+            kernel.applyPersonalityEffects(spiritling, minutes, spiritling.getCurrentAction());
+        }
+        blackhole.consume(spiritlings);
+    }
+    
+    @Benchmark
+    public void checkLevelUp(Blackhole blackhole) {
+        for (Spiritling spiritling : spiritlings) {
+            kernel.checkLevelUp(spiritling);
+        }
+        blackhole.consume(spiritlings);
+    }
+}
@@ -0,0 +1,143 @@
+package com.aetherisland.config;
+
+import com.aetherisland.service.SpiritlingAIService;
+import com.aetherisland.service.SpiritlingHotStore;
+import com.aetherisland.service.SpiritlingSimulationEngine;
+import com.aetherisland.service.SpiritlingSimulationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 정령 틱 스케줄러
+ * 시간 경과 시뮬레이션과 자율 행동 AI를 정령당 한 번의 패스로 처리하며, 틱이 겹쳐 실행되지 않도록 보장
+ */
+@Component
+public class SpiritlingTickScheduler {
+    private final SpiritlingSimulationService simulationService;
+    private final SpiritlingAIService aiService;
+    private final SpiritlingHotStore hotStore;
+    private final long intervalMillis;
+    private final long initialDelayMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spiritling-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    // 틱 스레드에서만 사용
+    private final SplittableRandom seeds = new SplittableRandom();
+    
+    private volatile long nextScheduledAt;
+    private volatile long lastLagMillis;
+    private volatile long lastDurationMillis;
+    private volatile LocalDateTime lastStartedAt;
+    private volatile long lastSeed;
+    private volatile SpiritlingSimulationEngine.TickResult lastResult;
+    
+    public SpiritlingTickScheduler(
+        SpiritlingSimulationService simulationService,
+        SpiritlingAIService aiService,
+        SpiritlingHotStore hotStore,
+        @Value("${simulation.tick-interval-ms:300000}") long intervalMillis,
+        @Value("${simulation.initial-delay-ms:60000}") long initialDelayMillis
+    ) {
+        this.simulationService = simulationService;
+        this.aiService = aiService;
+        this.hotStore = hotStore;
+        this.intervalMillis = intervalMillis;
+        this.initialDelayMillis = initialDelayMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        System.out.println("마정령 틱 스케줄러를 시작합니다...");
+        nextScheduledAt = System.currentTimeMillis() + initialDelayMillis;
+        scheduler.scheduleAtFixedRate(this::tick, initialDelayMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        System.out.println("✅ 마정령 틱 스케줄러 시작 완료 (주기 " + intervalMillis + "ms)");
+    }
+    
+    private void tick() {
+        if (!running.compareAndSet(false, true)) {
+            System.err.println("⚠️ 이전 정령 틱이 아직 실행 중이라 이번 틱을 건너뜁니다.");
+            return;
+        }
+        
+        long startedAt = System.currentTimeMillis();
+        try {
+            // 예정 시각 대비 지연 (이전 틱이 주기보다 오래 걸리면 증가)
+            lastLagMillis = Math.max(0, startedAt - nextScheduledAt);
+            lastStartedAt = LocalDateTime.now();
+            if (lastLagMillis > intervalMillis) {
+                System.err.println("⚠️ 정령 틱 지연: " + lastLagMillis + "ms (주기 " + intervalMillis + "ms)");
+            }
+            
+            // 틱마다 새 시드 (기록된 시드로 SimulationReplay에서 재현)
+            long seed = seeds.nextLong();
+            lastSeed = seed;
+            
+            // columnar 모드에서는 메모리 저장소의 배열 위에서 처리
+            lastResult = hotStore.isEnabled()
+                ? hotStore.tick(seed)
+                : simulationService.simulateAllSpiritlings(seed, aiService::act);
+        } catch (Exception e) {
+            System.err.println("Error in spiritling tick: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            long finishedAt = System.currentTimeMillis();
+            lastDurationMillis = finishedAt - startedAt;
+            // 밀린 주기는 건너뛰고 다음 예정 시각을 계산
+            long next = nextScheduledAt + intervalMillis;
+            while (next <= finishedAt) {
+                next += intervalMillis;
+            }
+            nextScheduledAt = next;
+            running.set(false);
+        }
+    }
+    
+    /**
+     * 틱 상태 (health check용)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("interval_ms", intervalMillis);
+        status.put("last_started_at", lastStartedAt);
+        status.put("last_seed", lastSeed);
+        status.put("last_lag_ms", lastLagMillis);
+        status.put("last_duration_ms", lastDurationMillis);
+        SpiritlingSimulationEngine.TickResult result = lastResult;
+        if (result != null) {
+            status.put("last_processed", result.processed());
+            status.put("last_flushed", result.flushed());
+            status.put("last_failed", result.failed());
+        }
+        return status;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        System.out.println("마정령 틱 스케줄러를 종료합니다...");
+        scheduler.shutdown();
+        try {
+            // 진행 중인 틱은 마무리할 시간을 줌
+            if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,14 +5,19 @@ import com.aetherisland.entity.Competition;
 import com.aetherisland.entity.CompetitionEntry;
 import com.aetherisland.entity.Spiritling;
 import com.aetherisland.exception.ApiException;
-import com.aetherisland.repository.CompetitionEntryRepository;
 import com.aetherisland.repository.CompetitionRepository;
 import com.aetherisland.repository.SpiritlingRepository;
+import com.aetherisland.service.CompetitionEntryIngestor;
+import com.aetherisland.service.CompetitionLifecycleService;
+import com.aetherisland.service.CompetitionRankingService;
+import com.aetherisland.service.CompetitionScoringKernel;
+import com.aetherisland.service.SpiritlingSimulationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,24 +25,30 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/competitions")
 public class CompetitionController {
     private final CompetitionRepository competitionRepository;
-    private final CompetitionEntryRepository competitionEntryRepository;
     private final SpiritlingRepository spiritlingRepository;
+    private final SpiritlingSimulationService simulationService;
+    private final CompetitionLifecycleService lifecycleService;
+    private final CompetitionRankingService rankingService;
+    private final CompetitionEntryIngestor entryIngestor;
+    private final CompetitionScoringKernel scoringKernel = new CompetitionScoringKernel();
     
     public CompetitionController(CompetitionRepository competitionRepository,
-                                CompetitionEntryRepository competitionEntryRepository,
-                                SpiritlingRepository spiritlingRepository) {
+                                SpiritlingRepository spiritlingRepository,
+                                SpiritlingSimulationService simulationService,
+                                CompetitionLifecycleService lifecycleService,
+                                CompetitionRankingService rankingService,
+                                CompetitionEntryIngestor entryIngestor) {
         this.competitionRepository = competitionRepository;
-        this.competitionEntryRepository = competitionEntryRepository;
         this.spiritlingRepository = spiritlingRepository;
+        this.simulationService = simulationService;
+        this.lifecycleService = lifecycleService;
+        this.rankingService = rankingService;
+        this.entryIngestor = entryIngestor;
     }
     
     @GetMapping
     public ResponseEntity<List<CompetitionResponse>> getCompetitions() {
-        List<Competition> competitions = competitionRepository.findByStatusIn(
-            List.of("upcoming", "active")
-        );
-        
-        List<CompetitionResponse> responses = competitions.stream()
+        List<CompetitionResponse> responses = lifecycleService.getOpenCompetitions().stream()
             .map(this::toResponse)
             .collect(Collectors.toList());
         
@@ -46,35 +57,16 @@ public class CompetitionController {
     
     @GetMapping("/{id}")
     public ResponseEntity<CompetitionResponse> getCompetition(@PathVariable String id) {
-        Competition competition = competitionRepository.findById(id)
+        // 종료된 대회만 DB에서 조회
+        Competition competition = lifecycleService.findOpen(id)
+            .or(() -> competitionRepository.findById(id))
             .orElseThrow(() -> new ApiException("대회를 찾을 수 없습니다.", HttpStatus.NOT_FOUND));
         return ResponseEntity.ok(toResponse(competition));
     }
     
     @GetMapping("/{id}/ranking")
     public ResponseEntity<List<Map<String, Object>>> getCompetitionRanking(@PathVariable String id) {
-        List<CompetitionEntry> entries = competitionEntryRepository
-            .findByCompetitionIdOrderByScoreDesc(id)
-            .stream()
-            .limit(10)
-            .collect(Collectors.toList());
-        
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (int i = 0; i < entries.size(); i++) {
-            CompetitionEntry entry = entries.get(i);
-            Spiritling spiritling = spiritlingRepository.findById(entry.getSpiritlingId())
-                .orElse(null);
-            if (spiritling != null) {
-                Map<String, Object> item = new HashMap<>();
-                item.put("rank", i + 1);
-                item.put("spiritling_id", spiritling.getId());
-                item.put("spiritling_name", spiritling.getName());
-                item.put("score", entry.getScore());
-                result.add(item);
-            }
-        }
-        
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(rankingService.getTopRanking(id));
     }
     
     @PostMapping("/{id}/enter")
@@ -88,12 +80,18 @@ public class CompetitionController {
         Double baseScore = request.get("score") != null ? 
             ((Number) request.get("score")).doubleValue() : 0.0;
         
-        Competition competition = competitionRepository.findById(id)
+        Competition competition = lifecycleService.findOpen(id)
+            .or(() -> competitionRepository.findById(id))
             .orElseThrow(() -> new ApiException("대회를 찾을 수 없습니다.", HttpStatus.NOT_FOUND));
         
-        if (!"active".equals(competition.getStatus())) {
+        // 목록은 주기적으로 갱신되므로 종료 시각도 함께 확인
+        if (!"active".equals(competition.getStatus())
+            || (competition.getEndDate() != null && competition.getEndDate().isBefore(LocalDateTime.now()))) {
             throw new ApiException("현재 참가 가능한 대회가 아닙니다.", HttpStatus.BAD_REQUEST);
         }
+        if (competition.isAutoEnter()) {
+            throw new ApiException("자동 참가 대회는 따로 참가할 수 없습니다.", HttpStatus.BAD_REQUEST);
+        }
         
         Spiritling spiritling = spiritlingRepository.findById(spiritlingId)
             .orElseThrow(() -> new ApiException("마정령을 찾을 수 없습니다.", HttpStatus.NOT_FOUND));
@@ -102,56 +100,24 @@ public class CompetitionController {
             throw new ApiException("마정령을 찾을 수 없습니다.", HttpStatus.NOT_FOUND);
         }
         
-        Optional<CompetitionEntry> existing = competitionEntryRepository
-            .findByCompetitionIdAndSpiritlingId(id, spiritlingId);
-        if (existing.isPresent()) {
-            throw new ApiException("이미 참가한 대회입니다.", HttpStatus.BAD_REQUEST);
-        }
-        
-        Double score = calculateScore(spiritling, competition.getType(), baseScore);
+        Double score = scoringKernel.score(simulationService.project(spiritling),
+            CompetitionScoringKernel.Weights.of(competition.getType()), baseScore);
         
         CompetitionEntry entry = new CompetitionEntry();
         entry.setId(UUID.randomUUID().toString());
         entry.setCompetitionId(id);
         entry.setSpiritlingId(spiritlingId);
         entry.setScore(score);
+        entry.setCreatedAt(LocalDateTime.now());
         
-        CompetitionEntry saved = competitionEntryRepository.save(entry);
-        updateRanking(id);
+        // 중복 확인 후 큐에 넣고 바로 응답 (저장은 배치로 비동기 처리, 순위는 조회 시 계산)
+        entryIngestor.submit(entry);
         
-        return ResponseEntity.ok(saved);
-    }
-    
-    private Double calculateScore(Spiritling spiritling, String competitionType, Double baseScore) {
-        switch (competitionType) {
-            case "race":
-                return spiritling.getAgilityStat() * 0.7 + spiritling.getLuckStat() * 0.3 + baseScore;
-            case "puzzle":
-                return spiritling.getIntelligenceStat() * 0.8 + spiritling.getResilienceStat() * 0.2 + baseScore;
-            case "battle":
-                return spiritling.getHealthStat() * 0.4 + spiritling.getResilienceStat() * 0.3 + 
-                       spiritling.getAgilityStat() * 0.3 + baseScore;
-            case "fashion":
-                return spiritling.getFriendlinessStat() * 0.6 + spiritling.getLuckStat() * 0.4 + baseScore;
-            default:
-                double totalStat = spiritling.getHealthStat() + spiritling.getAgilityStat() +
-                    spiritling.getIntelligenceStat() + spiritling.getFriendlinessStat() +
-                    spiritling.getResilienceStat() + spiritling.getLuckStat();
-                return (totalStat / 6.0) + baseScore;
-        }
-    }
-    
-    private void updateRanking(String competitionId) {
-        List<CompetitionEntry> entries = competitionEntryRepository
-            .findByCompetitionIdOrderByScoreDesc(competitionId);
-        for (int i = 0; i < entries.size(); i++) {
-            entries.get(i).setRank(i + 1);
-        }
-        competitionEntryRepository.saveAll(entries);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(entry);
     }
     
     private CompetitionResponse toResponse(Competition competition) {
-        return new CompetitionResponse(
+        CompetitionResponse response = new CompetitionResponse(
             competition.getId(),
             competition.getType(),
             competition.getName(),
@@ -161,6 +127,8 @@ public class CompetitionController {
             competition.getRewards(),
             competition.getStatus()
         );
+        response.setAutoEnter(competition.isAutoEnter());
+        return response;
     }
 }
 
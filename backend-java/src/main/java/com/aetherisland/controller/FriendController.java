@@ -6,11 +6,16 @@ import com.aetherisland.entity.User;
 import com.aetherisland.exception.ApiException;
 import com.aetherisland.repository.FriendRepository;
 import com.aetherisland.repository.UserRepository;
+import com.aetherisland.service.FriendGraphService;
+import com.aetherisland.service.FriendRecommendationService;
+import com.aetherisland.service.UsernameSearchIndex;
+import com.aetherisland.service.VillageService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,12 +23,24 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/v1/friends")
 public class FriendController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final FriendRepository friendRepository;
     private final UserRepository userRepository;
+    private final FriendGraphService friendGraph;
+    private final FriendRecommendationService recommendationService;
+    private final UsernameSearchIndex usernameSearchIndex;
+    private final VillageService villageService;
     
-    public FriendController(FriendRepository friendRepository, UserRepository userRepository) {
+    public FriendController(FriendRepository friendRepository, UserRepository userRepository,
+                            FriendGraphService friendGraph, FriendRecommendationService recommendationService,
+                            UsernameSearchIndex usernameSearchIndex, VillageService villageService) {
         this.friendRepository = friendRepository;
         this.userRepository = userRepository;
+        this.friendGraph = friendGraph;
+        this.recommendationService = recommendationService;
+        this.usernameSearchIndex = usernameSearchIndex;
+        this.villageService = villageService;
     }
     
     @PostMapping
@@ -66,60 +83,76 @@ public class FriendController {
         friend.setUpdatedAt(LocalDateTime.now());
         
         Friend saved = friendRepository.save(friend);
+        friendGraph.onSaved(saved);
+        recommendationService.onRelationChanged(saved.getUserId(), saved.getFriendId());
+        villageService.onRelationChanged(saved.getUserId(), saved.getFriendId());
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved, friendUser));
     }
     
+    /**
+     * 받은 친구 요청 목록
+     * @param limit 한 번에 받을 개수 (없으면 전체)
+     * @param cursor 이전 응답 X-Next-Cursor 헤더 값 (없으면 처음부터)
+     */
     @GetMapping("/requests")
-    public ResponseEntity<List<Map<String, Object>>> getFriendRequests(Authentication authentication) {
+    public ResponseEntity<List<Map<String, Object>>> getFriendRequests(
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String cursor,
+        Authentication authentication
+    ) {
         String userId = authentication.getName();
-        List<Friend> requests = friendRepository.findPendingRequestsByFriendId(userId);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : Cursor.FIRST;
+        int pageSize = pageSize(limit);
+        List<FriendRepository.FriendRow> requests =
+            friendRepository.findPendingRequestsPage(userId, after.username(), after.id(), pageSize);
         
         List<Map<String, Object>> result = requests.stream()
             .map(f -> {
-                User user = userRepository.findById(f.getUserId()).orElse(null);
-                if (user == null) return null;
                 Map<String, Object> item = new HashMap<>();
                 item.put("id", f.getId());
                 item.put("user_id", f.getUserId());
                 item.put("friend_id", f.getFriendId());
-                item.put("username", user.getUsername());
-                item.put("email", user.getEmail());
+                item.put("username", f.getUsername());
+                item.put("email", f.getEmail());
                 item.put("status", f.getStatus());
                 item.put("created_at", f.getCreatedAt());
                 return item;
             })
-            .filter(Objects::nonNull)
             .collect(Collectors.toList());
         
-        return ResponseEntity.ok(result);
+        return withNextCursor(requests, pageSize).body(result);
     }
     
+    /**
+     * 친구 목록 (상대 유저 이름순)
+     * @param limit 한 번에 받을 개수 (없으면 전체)
+     * @param cursor 이전 응답 X-Next-Cursor 헤더 값 (없으면 처음부터)
+     */
     @GetMapping
-    public ResponseEntity<List<FriendResponse>> getFriends(Authentication authentication) {
+    public ResponseEntity<List<FriendResponse>> getFriends(
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String cursor,
+        Authentication authentication
+    ) {
         String userId = authentication.getName();
+        Cursor after = cursor != null ? Cursor.decode(cursor) : Cursor.FIRST;
+        int pageSize = pageSize(limit);
+        List<FriendRepository.FriendRow> friends =
+            friendRepository.findFriendsPage(userId, after.username(), after.id(), pageSize);
         
-        List<Friend> sentFriends = friendRepository.findByUserIdAndStatus(userId, "accepted");
-        List<Friend> receivedFriends = friendRepository.findByFriendIdAndStatus(userId, "accepted");
-        
-        List<FriendResponse> responses = sentFriends.stream()
-            .map(f -> {
-                User friendUser = userRepository.findById(f.getFriendId()).orElse(null);
-                if (friendUser == null) return null;
-                return toResponse(f, friendUser);
-            })
-            .filter(Objects::nonNull)
+        List<FriendResponse> responses = friends.stream()
+            .map(f -> new FriendResponse(
+                f.getId(),
+                f.getUserId(),
+                f.getFriendId(),
+                f.getUsername(),
+                f.getEmail(),
+                f.getStatus(),
+                f.getCreatedAt()
+            ))
             .collect(Collectors.toList());
         
-        responses.addAll(receivedFriends.stream()
-            .map(f -> {
-                User friendUser = userRepository.findById(f.getUserId()).orElse(null);
-                if (friendUser == null) return null;
-                return toResponse(f, friendUser);
-            })
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList()));
-        
-        return ResponseEntity.ok(responses);
+        return withNextCursor(friends, pageSize).body(responses);
     }
     
     @PostMapping("/accept")
@@ -140,6 +173,9 @@ public class FriendController {
         friendRequest.setStatus("accepted");
         friendRequest.setUpdatedAt(LocalDateTime.now());
         Friend saved = friendRepository.save(friendRequest);
+        friendGraph.onSaved(saved);
+        recommendationService.onRelationChanged(saved.getUserId(), saved.getFriendId());
+        villageService.onRelationChanged(saved.getUserId(), saved.getFriendId());
         
         User friendUser = userRepository.findById(friendRequest.getUserId())
             .orElseThrow(() -> new ApiException("사용자를 찾을 수 없습니다.", HttpStatus.NOT_FOUND));
@@ -163,6 +199,9 @@ public class FriendController {
         }
         
         friendRepository.delete(friendRequest);
+        friendGraph.onDeleted(friendRequest);
+        recommendationService.onRelationChanged(friendRequest.getUserId(), friendRequest.getFriendId());
+        villageService.onRelationChanged(friendRequest.getUserId(), friendRequest.getFriendId());
         return ResponseEntity.noContent().build();
     }
     
@@ -179,6 +218,9 @@ public class FriendController {
         }
         
         friendRepository.delete(relationship.get());
+        friendGraph.onDeleted(relationship.get());
+        recommendationService.onRelationChanged(relationship.get().getUserId(), relationship.get().getFriendId());
+        villageService.onRelationChanged(relationship.get().getUserId(), relationship.get().getFriendId());
         return ResponseEntity.noContent().build();
     }
     
@@ -188,29 +230,25 @@ public class FriendController {
         Authentication authentication
     ) {
         String userId = authentication.getName();
-        List<User> users = userRepository.findByUsernameContainingIgnoreCase(username)
-            .stream()
-            .filter(u -> !u.getId().equals(userId))
-            .limit(10)
+        // 이름 인덱스에서 최대 10명만 골라 그 유저들만 조회 (접두어 일치 우선, 인덱스 순서 유지)
+        List<String> userIds = usernameSearchIndex.search(username, userId, 10);
+        Map<String, User> found = userRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(User::getId, u -> u));
+        List<User> users = userIds.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
         
-        Set<String> friendIds = new HashSet<>();
-        friendRepository.findAll().forEach(f -> {
-            if (f.getUserId().equals(userId)) friendIds.add(f.getFriendId());
-            if (f.getFriendId().equals(userId)) friendIds.add(f.getUserId());
-        });
-        
+        // 관계 여부·상태는 친구 그래프에서 유저당 O(log d)로 확인
         List<Map<String, Object>> result = users.stream()
             .map(user -> {
+                FriendGraphService.Relation relation = friendGraph.relationOf(userId, user.getId());
                 Map<String, Object> item = new HashMap<>();
                 item.put("id", user.getId());
                 item.put("username", user.getUsername());
                 item.put("email", user.getEmail());
-                item.put("is_friend", friendIds.contains(user.getId()));
-                
-                Optional<Friend> friendRequest = friendRepository.findFriendRelationship(userId, user.getId());
-                item.put("friend_status", friendRequest.map(Friend::getStatus).orElse(null));
-                
+                item.put("is_friend", relation != null);
+                item.put("friend_status", relation != null ? relation.status() : null);
                 return item;
             })
             .collect(Collectors.toList());
@@ -225,45 +263,66 @@ public class FriendController {
     ) {
         String userId = authentication.getName();
         
-        // 현재 사용자의 친구 ID 목록 (양방향)
-        Set<String> friendIds = new HashSet<>();
-        friendRepository.findAll().forEach(f -> {
-            if (f.getUserId().equals(userId)) friendIds.add(f.getFriendId());
-            if (f.getFriendId().equals(userId)) friendIds.add(f.getUserId());
-        });
-        friendIds.add(userId); // 자기 자신도 제외
+        // 공통 친구 수·정령 속성 순으로 미리 계산된 후보 중 limit명
+        List<FriendRecommendationService.Candidate> candidates = recommendationService.recommend(userId, limit);
+        Map<String, User> users = userRepository.findAllById(
+                candidates.stream().map(FriendRecommendationService.Candidate::userId).toList()).stream()
+            .collect(Collectors.toMap(User::getId, u -> u));
         
-        // 모든 사용자 중에서 친구가 아닌 사용자들 가져오기
-        List<User> allUsers = userRepository.findAll();
-        List<User> recommendedUsers = allUsers.stream()
-            .filter(u -> !friendIds.contains(u.getId()))
-            .collect(Collectors.toList());
-        
-        // 랜덤하게 섞기
-        Collections.shuffle(recommendedUsers);
+        // 응답 생성 (추천 순서 유지)
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (FriendRecommendationService.Candidate candidate : candidates) {
+            User user = users.get(candidate.userId());
+            if (user == null) continue;
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", user.getId());
+            item.put("username", user.getUsername());
+            item.put("email", user.getEmail());
+            item.put("is_friend", false);
+            // 관계가 있는 유저는 후보에서 제외되므로 요청 상태도 없음
+            item.put("friend_status", null);
+            item.put("mutual_friends", candidate.mutualFriends());
+            result.add(item);
+        }
         
-        // 제한된 수만큼 추천
-        List<User> selectedUsers = recommendedUsers.stream()
-            .limit(Math.min(limit, recommendedUsers.size()))
-            .collect(Collectors.toList());
+        return ResponseEntity.ok(result);
+    }
+    
+    private static int pageSize(Integer limit) {
+        return limit != null ? Math.max(limit, 1) : Integer.MAX_VALUE;
+    }
+    
+    // 페이지가 가득 찼으면 마지막 행을 다음 커서로 (응답 본문은 기존처럼 배열 유지)
+    private static ResponseEntity.BodyBuilder withNextCursor(List<FriendRepository.FriendRow> rows, int pageSize) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (!rows.isEmpty() && rows.size() == pageSize) {
+            FriendRepository.FriendRow last = rows.get(rows.size() - 1);
+            builder.header(NEXT_CURSOR_HEADER, new Cursor(last.getUsername(), last.getId()).encode());
+        }
+        return builder;
+    }
+    
+    /**
+     * 친구 목록 키셋 커서 (마지막 행의 상대 유저 이름과 관계 id)
+     */
+    private record Cursor(String username, String id) {
+        private static final Cursor FIRST = new Cursor("", "");
         
-        // 응답 생성
-        List<Map<String, Object>> result = selectedUsers.stream()
-            .map(user -> {
-                Map<String, Object> item = new HashMap<>();
-                item.put("id", user.getId());
-                item.put("username", user.getUsername());
-                item.put("email", user.getEmail());
-                item.put("is_friend", false);
-                
-                Optional<Friend> friendRequest = friendRepository.findFriendRelationship(userId, user.getId());
-                item.put("friend_status", friendRequest.map(Friend::getStatus).orElse(null));
-                
-                return item;
-            })
-            .collect(Collectors.toList());
+        static Cursor decode(String value) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                // id는 UUID라 ':'가 없으므로 첫 ':' 기준으로 분리
+                int separator = decoded.indexOf(':');
+                return new Cursor(decoded.substring(separator + 1), decoded.substring(0, separator));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new ApiException("잘못된 커서입니다", HttpStatus.BAD_REQUEST);
+            }
+        }
         
-        return ResponseEntity.ok(result);
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + username).getBytes(StandardCharsets.UTF_8));
+        }
     }
     
     private FriendResponse toResponse(Friend friend, User friendUser) {
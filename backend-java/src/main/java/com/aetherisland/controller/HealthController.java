@@ -1,5 +1,8 @@
 package com.aetherisland.controller;
 
+import com.aetherisland.config.SpiritlingTickScheduler;
+import com.aetherisland.service.LeaderboardService;
+import com.aetherisland.service.SimulationLeaseManager;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -9,12 +12,26 @@ import java.util.Map;
 
 @RestController
 public class HealthController {
+    private final SpiritlingTickScheduler tickScheduler;
+    private final SimulationLeaseManager leaseManager;
+    private final LeaderboardService leaderboardService;
+    
+    public HealthController(SpiritlingTickScheduler tickScheduler, SimulationLeaseManager leaseManager,
+                            LeaderboardService leaderboardService) {
+        this.tickScheduler = tickScheduler;
+        this.leaseManager = leaseManager;
+        this.leaderboardService = leaderboardService;
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         System.out.println("🏥 Health check 요청 받음");
         Map<String, Object> response = new HashMap<>();
         response.put("status", "healthy");
         response.put("database", "connected");
+        response.put("simulation", tickScheduler.getStatus());
+        response.put("simulation_cluster", leaseManager.getStatus());
+        response.put("leaderboard", leaderboardService.getStatus());
         System.out.println("✅ Health check 성공");
         return ResponseEntity.ok(response);
     }
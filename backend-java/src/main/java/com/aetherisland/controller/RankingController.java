@@ -2,14 +2,19 @@ package com.aetherisland.controller;
 
 import com.aetherisland.dto.RankingListResponse;
 import com.aetherisland.dto.RankingResponse;
-import com.aetherisland.entity.Spiritling;
+import com.aetherisland.entity.Ranking;
 import com.aetherisland.entity.User;
-import com.aetherisland.repository.SpiritlingRepository;
 import com.aetherisland.repository.UserRepository;
+import com.aetherisland.service.LeaderboardService;
+import com.aetherisland.service.RankingPeriod;
+import com.aetherisland.service.RankingSnapshotService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,40 +22,58 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/v1/rankings")
 public class RankingController {
+    private static final int MAX_AROUND = 50;
+    private static final int MAX_LIMIT = 100;
+    
     private final UserRepository userRepository;
-    private final SpiritlingRepository spiritlingRepository;
+    private final LeaderboardService leaderboardService;
+    private final RankingSnapshotService snapshotService;
     
-    public RankingController(UserRepository userRepository, SpiritlingRepository spiritlingRepository) {
+    public RankingController(UserRepository userRepository, LeaderboardService leaderboardService,
+                             RankingSnapshotService snapshotService) {
         this.userRepository = userRepository;
-        this.spiritlingRepository = spiritlingRepository;
+        this.leaderboardService = leaderboardService;
+        this.snapshotService = snapshotService;
     }
     
+    /**
+     * 랭킹 목록 조회
+     * @param limit 한 페이지 인원 (1~100, 더 보려면 nextCursor로 이어서 조회)
+     * @param date 지난 기간 조회 시 그 기간에 속한 날짜 (없거나 진행 중인 기간이면 실시간 순위)
+     * @param cursor 이전 응답의 nextCursor (없으면 1위부터)
+     */
     @GetMapping("/{category}")
     public ResponseEntity<RankingListResponse> getRankings(
         @PathVariable String category,
         @RequestParam(defaultValue = "all_time") String period,
         @RequestParam(defaultValue = "100") int limit,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @RequestParam(required = false) String cursor,
         Authentication authentication
     ) {
-        List<RankingItem> rankings = calculateRankings(category);
+        RankingPeriod rankingPeriod = RankingPeriod.of(period);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime snapshotEnd = closedPeriodEnd(rankingPeriod, date, now);
+        LeaderboardService.Cursor after = cursor != null ? LeaderboardService.Cursor.decode(cursor) : null;
+        int pageSize = Math.min(Math.max(limit, 1), MAX_LIMIT);
         
-        List<RankingResponse> responses = new ArrayList<>();
-        for (int i = 0; i < Math.min(rankings.size(), limit); i++) {
-            RankingItem item = rankings.get(i);
-            RankingResponse response = new RankingResponse(
-                UUID.randomUUID().toString(),
-                item.getUserId(),
-                category,
-                i + 1,
-                item.getScore(),
-                period,
-                null,
-                null,
-                new RankingResponse.UserInfo(item.getUserId(), item.getUsername()),
-                LocalDateTime.now(),
-                LocalDateTime.now()
-            );
-            responses.add(response);
+        List<RankingResponse> responses;
+        String nextCursor = null;
+        if (snapshotEnd == null) {
+            List<LeaderboardService.RankedUser> items = after == null
+                ? leaderboardService.top(category, rankingPeriod, 0, pageSize)
+                : leaderboardService.after(category, rankingPeriod, after, pageSize);
+            responses = liveResponses(category, rankingPeriod, items, now);
+            if (items.size() == pageSize) {
+                nextCursor = items.get(items.size() - 1).cursor().encode();
+            }
+        } else {
+            List<Ranking> rows = snapshotService.page(category, rankingPeriod, snapshotEnd, after, pageSize);
+            responses = snapshotResponses(rows);
+            if (rows.size() == pageSize) {
+                Ranking last = rows.get(rows.size() - 1);
+                nextCursor = new LeaderboardService.Cursor(last.getScore(), last.getUserId()).encode();
+            }
         }
         
         RankingListResponse result = new RankingListResponse(
@@ -59,6 +82,7 @@ public class RankingController {
             responses,
             responses.size()
         );
+        result.setNextCursor(nextCursor);
         
         return ResponseEntity.ok(result);
     }
@@ -67,107 +91,141 @@ public class RankingController {
     public ResponseEntity<RankingResponse> getMyRanking(
         @RequestParam(defaultValue = "overall") String category,
         @RequestParam(defaultValue = "all_time") String period,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
         Authentication authentication
     ) {
         String userId = authentication.getName();
-        List<RankingItem> rankings = calculateRankings(category);
+        RankingPeriod rankingPeriod = RankingPeriod.of(period);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime snapshotEnd = closedPeriodEnd(rankingPeriod, date, now);
+        User user = userRepository.findById(userId).orElse(null);
+        String username = user != null ? user.getUsername() : "";
+        
+        if (snapshotEnd != null) {
+            Ranking row = snapshotService.find(category, rankingPeriod, snapshotEnd, userId).orElse(null);
+            if (row != null) {
+                return ResponseEntity.ok(snapshotResponse(row, username));
+            }
+            // 스냅샷 이후에 가입한 유저는 마지막 순위로 표시
+            long recorded = snapshotService.count(category, rankingPeriod, snapshotEnd);
+            return ResponseEntity.ok(liveResponse(category, rankingPeriod, rankingPeriod.startOf(snapshotEnd.minusDays(1)),
+                snapshotEnd, userId, username, user != null ? (int) recorded + 1 : 0, 0.0, now));
+        }
+        
+        LeaderboardService.RankedUser ranked = leaderboardService.rankOf(category, rankingPeriod, userId);
         
         int myRank = 0;
         double myScore = 0.0;
-        String username = "";
         
-        for (int i = 0; i < rankings.size(); i++) {
-            if (rankings.get(i).getUserId().equals(userId)) {
-                myRank = i + 1;
-                myScore = rankings.get(i).getScore();
-                username = rankings.get(i).getUsername();
-                break;
-            }
+        if (ranked != null) {
+            myRank = ranked.rank();
+            myScore = ranked.score();
+            username = ranked.username();
+        } else if (user != null && leaderboardService.hasData(rankingPeriod)) {
+            // 랭킹 인덱스에 아직 없으면 마지막 순위로 표시 (기간 시작 스냅샷이 없으면 순위 없음)
+            myRank = leaderboardService.size(category) + 1;
         }
         
-        if (myRank == 0) {
-            // 랭킹에 없으면 점수 계산
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-                username = user.getUsername();
-                myScore = calculateUserScore(userId, category);
-                myRank = rankings.size() + 1;
-            }
-        }
+        LocalDateTime periodStart = rankingPeriod.startOf(now);
+        LocalDateTime periodEnd = periodStart != null ? rankingPeriod.endOf(periodStart) : null;
+        return ResponseEntity.ok(liveResponse(category, rankingPeriod, periodStart, periodEnd, userId, username,
+            myRank, myScore, now));
+    }
+    
+    /**
+     * 내 앞뒤로 k명씩 조회 (내 순위 포함, 랭킹에 없으면 빈 목록)
+     */
+    @GetMapping("/user/me/around")
+    public ResponseEntity<RankingListResponse> getRankingsAroundMe(
+        @RequestParam(defaultValue = "overall") String category,
+        @RequestParam(defaultValue = "all_time") String period,
+        @RequestParam(defaultValue = "5") int k,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        Authentication authentication
+    ) {
+        String userId = authentication.getName();
+        RankingPeriod rankingPeriod = RankingPeriod.of(period);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime snapshotEnd = closedPeriodEnd(rankingPeriod, date, now);
+        int window = Math.min(Math.max(k, 0), MAX_AROUND);
         
-        RankingResponse response = new RankingResponse(
-            UUID.randomUUID().toString(),
-            userId,
+        List<RankingResponse> responses = snapshotEnd == null
+            ? liveResponses(category, rankingPeriod, leaderboardService.around(category, rankingPeriod, userId, window), now)
+            : snapshotResponses(snapshotService.around(category, rankingPeriod, snapshotEnd, userId, window));
+        
+        return ResponseEntity.ok(new RankingListResponse(
             category,
-            myRank,
-            myScore,
             period,
-            null,
-            null,
-            new RankingResponse.UserInfo(userId, username),
-            LocalDateTime.now(),
-            LocalDateTime.now()
-        );
-        
-        return ResponseEntity.ok(response);
+            responses,
+            responses.size()
+        ));
     }
     
-    private List<RankingItem> calculateRankings(String category) {
-        List<User> users = userRepository.findAll();
-        List<RankingItem> rankings = new ArrayList<>();
-        
-        for (User user : users) {
-            double score = calculateUserScore(user.getId(), category);
-            rankings.add(new RankingItem(user.getId(), user.getUsername(), score));
+    // date가 이미 끝난 기간이면 그 스냅샷 시각, 없거나 진행 중이면 null
+    private static LocalDateTime closedPeriodEnd(RankingPeriod period, LocalDate date, LocalDateTime now) {
+        if (date == null) {
+            return null;
         }
-        
-        rankings.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
-        return rankings;
+        LocalDateTime snapshotEnd = period.snapshotEndOf(date);
+        return snapshotEnd.isAfter(now) ? null : snapshotEnd;
     }
     
-    private double calculateUserScore(String userId, String category) {
-        List<Spiritling> spiritlings = spiritlingRepository.findByUserId(userId);
-        User user = userRepository.findById(userId).orElse(null);
-        
-        if (user == null) return 0.0;
-        
-        switch (category) {
-            case "overall":
-                int totalLevel = spiritlings.stream().mapToInt(s -> s.getLevel() != null ? s.getLevel() : 0).sum();
-                int totalStats = spiritlings.stream().mapToInt(s ->
-                    (s.getHealthStat() != null ? s.getHealthStat() : 0) +
-                    (s.getAgilityStat() != null ? s.getAgilityStat() : 0) +
-                    (s.getIntelligenceStat() != null ? s.getIntelligenceStat() : 0) +
-                    (s.getFriendlinessStat() != null ? s.getFriendlinessStat() : 0) +
-                    (s.getResilienceStat() != null ? s.getResilienceStat() : 0) +
-                    (s.getLuckStat() != null ? s.getLuckStat() : 0)
-                ).sum();
-                return totalLevel * 10.0 + totalStats + (user.getCoins() != null ? user.getCoins() : 0);
-            case "level":
-                return spiritlings.stream().mapToInt(s -> s.getLevel() != null ? s.getLevel() : 0).max().orElse(0);
-            case "coins":
-                return user.getCoins() != null ? user.getCoins() : 0;
-            case "spiritlings":
-                return spiritlings.size();
-            default:
-                return 0.0;
+    private static List<RankingResponse> liveResponses(String category, RankingPeriod period,
+                                                       List<LeaderboardService.RankedUser> items, LocalDateTime now) {
+        LocalDateTime periodStart = period.startOf(now);
+        LocalDateTime periodEnd = periodStart != null ? period.endOf(periodStart) : null;
+        List<RankingResponse> responses = new ArrayList<>(items.size());
+        for (LeaderboardService.RankedUser item : items) {
+            responses.add(liveResponse(category, period, periodStart, periodEnd, item.userId(), item.username(),
+                item.rank(), item.score(), now));
         }
+        return responses;
     }
     
-    private static class RankingItem {
-        private String userId;
-        private String username;
-        private double score;
-        
-        public RankingItem(String userId, String username, double score) {
-            this.userId = userId;
-            this.username = username;
-            this.score = score;
+    private List<RankingResponse> snapshotResponses(List<Ranking> rows) {
+        Map<String, String> usernames = userRepository.findAllById(
+                rows.stream().map(Ranking::getUserId).toList()).stream()
+            .collect(Collectors.toMap(User::getId, User::getUsername));
+        List<RankingResponse> responses = new ArrayList<>(rows.size());
+        for (Ranking row : rows) {
+            responses.add(snapshotResponse(row, usernames.getOrDefault(row.getUserId(), "")));
         }
-        
-        public String getUserId() { return userId; }
-        public String getUsername() { return username; }
-        public double getScore() { return score; }
+        return responses;
+    }
+    
+    // 같은 기간·유저면 조회할 때마다 같은 id가 되도록 이름 기반 UUID 사용
+    private static RankingResponse liveResponse(String category, RankingPeriod period, LocalDateTime periodStart,
+                                                LocalDateTime periodEnd, String userId, String username,
+                                                int rank, double score, LocalDateTime now) {
+        String key = category + "|" + period.value() + "|" + periodStart + "|" + userId;
+        return new RankingResponse(
+            UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString(),
+            userId,
+            category,
+            rank,
+            score,
+            period.value(),
+            periodStart,
+            periodEnd,
+            new RankingResponse.UserInfo(userId, username),
+            now,
+            now
+        );
+    }
+    
+    private static RankingResponse snapshotResponse(Ranking row, String username) {
+        return new RankingResponse(
+            row.getId(),
+            row.getUserId(),
+            row.getCategory(),
+            row.getRank(),
+            row.getScore() != null ? row.getScore().doubleValue() : 0.0,
+            row.getPeriod(),
+            row.getPeriodStart(),
+            row.getPeriodEnd(),
+            new RankingResponse.UserInfo(row.getUserId(), username),
+            row.getCreatedAt(),
+            row.getUpdatedAt()
+        );
     }
 }
-
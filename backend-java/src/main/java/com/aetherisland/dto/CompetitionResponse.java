@@ -12,6 +12,7 @@ public class CompetitionResponse {
     private LocalDateTime endDate;
     private String rewards;
     private String status;
+    private boolean autoEnter;
     
     public CompetitionResponse() {}
     
@@ -42,5 +43,7 @@ public class CompetitionResponse {
     public void setRewards(String rewards) { this.rewards = rewards; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
+    public boolean isAutoEnter() { return autoEnter; }
+    public void setAutoEnter(boolean autoEnter) { this.autoEnter = autoEnter; }
 }
 
@@ -8,6 +8,7 @@ public class RankingListResponse {
     private String period;
     private List<RankingResponse> rankings;
     private Integer total;
+    private String nextCursor; // 다음 페이지 조회용 (마지막 페이지면 null)
     
     public RankingListResponse() {}
     
@@ -26,5 +27,7 @@ public class RankingListResponse {
     public void setRankings(List<RankingResponse> rankings) { this.rankings = rankings; }
     public Integer getTotal() { return total; }
     public void setTotal(Integer total) { this.total = total; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
 }
 
@@ -32,6 +32,10 @@ public class Competition {
     @Column(nullable = false)
     private String status = "upcoming"; // upcoming, active, ended
     
+    // 자동 참가 대회: 참가 신청 없이 종료 시 전체 정령 중 점수 상위만 참가 처리
+    @Column(name = "auto_enter")
+    private Boolean autoEnter = false;
+    
     @OneToMany(mappedBy = "competition", cascade = CascadeType.ALL)
     private List<CompetitionEntry> entries;
     
@@ -52,6 +56,8 @@ public class Competition {
     public void setRewards(String rewards) { this.rewards = rewards; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
+    public boolean isAutoEnter() { return Boolean.TRUE.equals(autoEnter); }
+    public void setAutoEnter(Boolean autoEnter) { this.autoEnter = autoEnter; }
     public List<CompetitionEntry> getEntries() { return entries; }
     public void setEntries(List<CompetitionEntry> entries) { this.entries = entries; }
 }
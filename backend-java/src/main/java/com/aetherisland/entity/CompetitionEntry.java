@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "competition_entries")
+@Table(name = "competition_entries", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_competition_entries_spiritling", columnNames = {"competition_id", "spiritling_id"})
+}, indexes = {
+    @Index(name = "idx_competition_entries_score", columnList = "competition_id, score")
+})
 public class CompetitionEntry {
     @Id
     private String id;
@@ -19,7 +23,7 @@ public class CompetitionEntry {
     private Double score;
     
     @Column
-    private Integer rank;
+    private Integer rank; // 대회가 끝날 때 확정 (진행 중에는 조회 시 계산)
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "competition_id", insertable = false, updatable = false)
@@ -34,7 +38,9 @@ public class CompetitionEntry {
     
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
     
     // Getters and Setters
@@ -7,6 +7,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "friends", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "friend_id"}, name = "unique_friend_relationship")
+}, indexes = {
+    // 받은 쪽(friend_id) 기준 조회용 (보낸 쪽은 unique 제약 인덱스 사용)
+    @Index(name = "idx_friends_friend_id", columnList = "friend_id, status")
 })
 public class Friend {
     @Id
@@ -0,0 +1,68 @@
+package com.aetherisland.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기간이 끝난 시점에 확정한 랭킹 스냅샷 (유저·카테고리당 한 행)
+ * all_time 행은 매일 0시 기준 전체 점수이며, 다음 기간 점수(증가분)를 계산하는 기준으로도 사용
+ */
+@Entity
+@Table(name = "rankings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rankings_snapshot_user", columnNames = {"category", "period", "period_end", "user_id"})
+}, indexes = {
+    @Index(name = "idx_rankings_snapshot_rank", columnList = "category, period, period_end, rank")
+})
+public class Ranking {
+    @Id
+    private String id;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Column(nullable = false)
+    private String category; // overall, level, coins, spiritlings
+    
+    @Column(nullable = false)
+    private Integer rank;
+    
+    @Column
+    private Integer score = 0;
+    
+    @Column
+    private String period; // daily, weekly, monthly, all_time
+    
+    @Column(name = "period_start")
+    private LocalDateTime periodStart;
+    
+    @Column(name = "period_end")
+    private LocalDateTime periodEnd;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public Integer getRank() { return rank; }
+    public void setRank(Integer rank) { this.rank = rank; }
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+    public String getPeriod() { return period; }
+    public void setPeriod(String period) { this.period = period; }
+    public LocalDateTime getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDateTime periodStart) { this.periodStart = periodStart; }
+    public LocalDateTime getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDateTime periodEnd) { this.periodEnd = periodEnd; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,41 @@
+package com.aetherisland.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시뮬레이션 파티션 임대 (파티션당 한 행, 소유 노드가 주기적으로 만료 시각을 연장)
+ */
+@Entity
+@Table(name = "simulation_leases")
+public class SimulationLease {
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+    
+    @Column(name = "owner")
+    private String owner;
+    
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+    
+    public SimulationLease() {
+    }
+    
+    public SimulationLease(Integer partitionId) {
+        this.partitionId = partitionId;
+    }
+    
+    public Integer getPartitionId() { return partitionId; }
+    public void setPartitionId(Integer partitionId) { this.partitionId = partitionId; }
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+}
@@ -0,0 +1,32 @@
+package com.aetherisland.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시뮬레이션에 참여 중인 노드 (파티션 공정 분배 계산용)
+ */
+@Entity
+@Table(name = "simulation_nodes")
+public class SimulationNode {
+    @Id
+    @Column(name = "node_id")
+    private String nodeId;
+    
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+    
+    public SimulationNode() {
+    }
+    
+    public SimulationNode(String nodeId, LocalDateTime heartbeatAt) {
+        this.nodeId = nodeId;
+        this.heartbeatAt = heartbeatAt;
+    }
+    
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+}
@@ -10,8 +10,14 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "spiritlings")
+@Table(name = "spiritlings", indexes = {
+    @Index(name = "idx_spiritlings_sim_partition", columnList = "sim_partition, id"),
+    @Index(name = "idx_spiritlings_user_id", columnList = "user_id")
+})
 public class Spiritling {
+    // 멀티 노드 시뮬레이션 파티션 수 (user_id 해시로 배정, 노드는 파티션 단위로 임대)
+    public static final int SIMULATION_PARTITIONS = 64;
+    
     @Id
     @GeneratedValue(generator = "uuid")
     @GenericGenerator(name = "uuid", strategy = "uuid2")
@@ -94,10 +100,28 @@ public class Spiritling {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // 상태 계산 기준 시각 (lazy 시뮬레이션)
+    @Column(name = "simulated_at")
+    private LocalDateTime simulatedAt;
+    
+    // 시뮬레이션 파티션 (같은 유저의 정령은 같은 노드가 처리)
+    @Column(name = "sim_partition")
+    private Integer simPartition;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (simulatedAt == null) {
+            simulatedAt = createdAt;
+        }
+        if (simPartition == null && userId != null) {
+            simPartition = partitionOf(userId);
+        }
+    }
+    
+    public static int partitionOf(String userId) {
+        return Math.floorMod(userId.hashCode(), SIMULATION_PARTITIONS);
     }
     
     @PreUpdate
@@ -156,5 +180,9 @@ public class Spiritling {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getSimulatedAt() { return simulatedAt; }
+    public void setSimulatedAt(LocalDateTime simulatedAt) { this.simulatedAt = simulatedAt; }
+    public Integer getSimPartition() { return simPartition; }
+    public void setSimPartition(Integer simPartition) { this.simPartition = simPartition; }
 }
 
@@ -7,7 +7,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // 친구 추천에서 최근 가입 유저 조회용
+    @Index(name = "idx_users_created_at", columnList = "created_at")
+})
 public class User {
     @Id
     @GeneratedValue(generator = "uuid")
@@ -2,18 +2,60 @@ package com.aetherisland.repository;
 
 import com.aetherisland.entity.CompetitionEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface CompetitionEntryRepository extends JpaRepository<CompetitionEntry, String> {
-    @Query("SELECT ce FROM CompetitionEntry ce WHERE ce.competitionId = :competitionId ORDER BY ce.score DESC")
-    List<CompetitionEntry> findByCompetitionIdOrderByScoreDesc(@Param("competitionId") String competitionId);
     
-    Optional<CompetitionEntry> findByCompetitionIdAndSpiritlingId(String competitionId, String spiritlingId);
+    // 상위 limit개 참가 기록의 순위·정령 이름 (순위는 조회 시 계산, 같은 점수는 같은 순위)
+    @Query(value = "SELECT r.rank AS \"rank\", r.spiritling_id AS \"spiritlingId\", s.name AS \"spiritlingName\", " +
+        "r.score AS \"score\" FROM (" +
+        "SELECT spiritling_id, score, created_at, RANK() OVER (ORDER BY score DESC) AS rank " +
+        "FROM competition_entries WHERE competition_id = :competitionId " +
+        "ORDER BY score DESC, created_at LIMIT :limit" +
+        ") r JOIN spiritlings s ON s.id = r.spiritling_id ORDER BY r.score DESC, r.created_at", nativeQuery = true)
+    List<RankingRow> findTopRanking(@Param("competitionId") String competitionId, @Param("limit") int limit);
+    
+    // 종료된 대회의 확정 순위 상위 limit개
+    @Query(value = "SELECT CAST(ce.rank AS BIGINT) AS \"rank\", ce.spiritling_id AS \"spiritlingId\", " +
+        "s.name AS \"spiritlingName\", ce.score AS \"score\" FROM competition_entries ce " +
+        "JOIN spiritlings s ON s.id = ce.spiritling_id " +
+        "WHERE ce.competition_id = :competitionId AND ce.rank IS NOT NULL " +
+        "ORDER BY ce.rank, ce.score DESC, ce.created_at LIMIT :limit", nativeQuery = true)
+    List<RankingRow> findFinalRanking(@Param("competitionId") String competitionId, @Param("limit") int limit);
+    
+    boolean existsByCompetitionIdAndRankIsNotNull(String competitionId);
+    
+    // 종료된 대회의 순위를 UPDATE 한 번으로 확정
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE competition_entries ce SET rank = ranked.rank FROM (" +
+        "SELECT id, RANK() OVER (ORDER BY score DESC) AS rank FROM competition_entries " +
+        "WHERE competition_id = :competitionId" +
+        ") ranked WHERE ce.id = ranked.id", nativeQuery = true)
+    int finalizeRanks(@Param("competitionId") String competitionId);
+    
+    // 확정된 순위가 maxRank 이내인 참가 기록의 주인 (같은 순위는 모두 포함)
+    @Query(value = "SELECT ce.rank AS \"rank\", s.user_id AS \"userId\" FROM competition_entries ce " +
+        "JOIN spiritlings s ON s.id = ce.spiritling_id " +
+        "WHERE ce.competition_id = :competitionId AND ce.rank <= :maxRank", nativeQuery = true)
+    List<Winner> findWinners(@Param("competitionId") String competitionId, @Param("maxRank") int maxRank);
+    
+    interface RankingRow {
+        Long getRank();
+        String getSpiritlingId();
+        String getSpiritlingName();
+        Double getScore();
+    }
+    
+    interface Winner {
+        Integer getRank();
+        String getUserId();
+    }
 }
-
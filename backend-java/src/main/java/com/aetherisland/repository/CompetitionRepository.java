@@ -2,12 +2,21 @@ package com.aetherisland.repository;
 
 import com.aetherisland.entity.Competition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface CompetitionRepository extends JpaRepository<Competition, String> {
     List<Competition> findByStatusIn(List<String> statuses);
+    
+    // 현재 상태가 from일 때만 변경 (여러 노드가 동시에 전환해도 한 번만 성공)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Competition c SET c.status = :to WHERE c.id = :id AND c.status = :from")
+    int transition(@Param("id") String id, @Param("from") String from, @Param("to") String to);
 }
-
@@ -6,19 +6,68 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FriendRepository extends JpaRepository<Friend, String> {
-    List<Friend> findByUserIdAndStatus(String userId, String status);
-    
-    List<Friend> findByFriendIdAndStatus(String friendId, String status);
+    // 친구 관계 행 + 상대 유저 이름·이메일 (u는 상대 유저)
+    String FRIEND_ROW_COLUMNS = "f.id AS \"id\", f.user_id AS \"userId\", f.friend_id AS \"friendId\", " +
+        "u.username AS \"username\", u.email AS \"email\", f.status AS \"status\", f.created_at AS \"createdAt\"";
     
     @Query("SELECT f FROM Friend f WHERE (f.userId = :userId AND f.friendId = :friendId) OR (f.userId = :friendId AND f.friendId = :userId)")
     Optional<Friend> findFriendRelationship(@Param("userId") String userId, @Param("friendId") String friendId);
     
-    @Query("SELECT f FROM Friend f WHERE f.friendId = :userId AND f.status = 'pending'")
-    List<Friend> findPendingRequestsByFriendId(@Param("userId") String userId);
+    // 친구 목록 한 페이지 (보낸·받은 accepted 관계를 상대 유저 정보와 함께 UNION 쿼리 한 번으로)
+    // (username, id)가 커서보다 뒤인 행만 (첫 페이지는 빈 문자열 커서)
+    @Query(value = "SELECT * FROM (" +
+        "SELECT " + FRIEND_ROW_COLUMNS + " FROM friends f JOIN users u ON u.id = f.friend_id " +
+        "WHERE f.user_id = :userId AND f.status = 'accepted' " +
+        "UNION ALL SELECT " + FRIEND_ROW_COLUMNS + " FROM friends f JOIN users u ON u.id = f.user_id " +
+        "WHERE f.friend_id = :userId AND f.status = 'accepted'" +
+        ") r WHERE (r.\"username\", r.\"id\") > (:afterUsername, :afterId) " +
+        "ORDER BY r.\"username\", r.\"id\" LIMIT :limit", nativeQuery = true)
+    List<FriendRow> findFriendsPage(@Param("userId") String userId, @Param("afterUsername") String afterUsername,
+                                    @Param("afterId") String afterId, @Param("limit") int limit);
+    
+    // 받은 친구 요청 한 페이지 (보낸 유저 정보 포함, 커서 규칙은 findFriendsPage와 같음)
+    @Query(value = "SELECT * FROM (" +
+        "SELECT " + FRIEND_ROW_COLUMNS + " FROM friends f JOIN users u ON u.id = f.user_id " +
+        "WHERE f.friend_id = :userId AND f.status = 'pending'" +
+        ") r WHERE (r.\"username\", r.\"id\") > (:afterUsername, :afterId) " +
+        "ORDER BY r.\"username\", r.\"id\" LIMIT :limit", nativeQuery = true)
+    List<FriendRow> findPendingRequestsPage(@Param("userId") String userId,
+                                            @Param("afterUsername") String afterUsername,
+                                            @Param("afterId") String afterId, @Param("limit") int limit);
+    
+    // 마을 화면용 친구 목록 (보낸·받은 accepted 관계 합집합 + 유저 정보 + 정령 수를 쿼리 한 번으로)
+    @Query(value = "WITH f AS (" +
+        "SELECT friend_id AS id FROM friends WHERE user_id = :userId AND status = 'accepted' " +
+        "UNION SELECT user_id FROM friends WHERE friend_id = :userId AND status = 'accepted') " +
+        "SELECT u.id AS \"id\", u.username AS \"username\", u.email AS \"email\", u.created_at AS \"createdAt\", " +
+        "COALESCE(s.spiritling_count, 0) AS \"spiritlingCount\" " +
+        "FROM f JOIN users u ON u.id = f.id " +
+        "LEFT JOIN (SELECT user_id, COUNT(*) AS spiritling_count FROM spiritlings " +
+        "WHERE user_id IN (SELECT id FROM f) GROUP BY user_id) s ON s.user_id = u.id", nativeQuery = true)
+    List<VillageFriend> findVillageFriends(@Param("userId") String userId);
+    
+    interface FriendRow {
+        String getId();
+        String getUserId();
+        String getFriendId();
+        String getUsername();
+        String getEmail();
+        String getStatus();
+        LocalDateTime getCreatedAt();
+    }
+    
+    interface VillageFriend {
+        String getId();
+        String getUsername();
+        String getEmail();
+        LocalDateTime getCreatedAt();
+        Long getSpiritlingCount();
+    }
 }
 
@@ -0,0 +1,80 @@
+package com.aetherisland.repository;
+
+import com.aetherisland.entity.Ranking;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RankingRepository extends JpaRepository<Ranking, String> {
+    boolean existsByPeriodAndPeriodEnd(String period, LocalDateTime periodEnd);
+    
+    // 가장 최근에 기록된 스냅샷 시각 (없으면 null)
+    @Query("SELECT MAX(r.periodEnd) FROM Ranking r WHERE r.period = :period")
+    LocalDateTime findLatestPeriodEnd(@Param("period") String period);
+    
+    List<Ranking> findByCategoryAndPeriodAndPeriodEndOrderByRankAscUserIdAsc(String category, String period,
+                                                                            LocalDateTime periodEnd, Limit limit);
+    
+    Optional<Ranking> findByCategoryAndPeriodAndPeriodEndAndUserId(String category, String period,
+                                                                   LocalDateTime periodEnd, String userId);
+    
+    // 커서 (score, userId) 다음 순위부터
+    @Query("SELECT r FROM Ranking r WHERE r.category = :category AND r.period = :period AND r.periodEnd = :periodEnd " +
+        "AND (r.score < :score OR (r.score = :score AND r.userId > :userId)) ORDER BY r.rank, r.userId")
+    List<Ranking> findSnapshotAfter(@Param("category") String category, @Param("period") String period,
+                                    @Param("periodEnd") LocalDateTime periodEnd, @Param("score") int score,
+                                    @Param("userId") String userId, Pageable pageable);
+    
+    // 커서 (score, userId) 바로 앞 순위부터 거꾸로
+    @Query("SELECT r FROM Ranking r WHERE r.category = :category AND r.period = :period AND r.periodEnd = :periodEnd " +
+        "AND (r.score > :score OR (r.score = :score AND r.userId < :userId)) ORDER BY r.rank DESC, r.userId DESC")
+    List<Ranking> findSnapshotBefore(@Param("category") String category, @Param("period") String period,
+                                     @Param("periodEnd") LocalDateTime periodEnd, @Param("score") int score,
+                                     @Param("userId") String userId, Pageable pageable);
+    
+    long countByCategoryAndPeriodAndPeriodEnd(String category, String period, LocalDateTime periodEnd);
+    
+    // at 시점의 전체 점수를 집계 쿼리 한 번으로 all_time 스냅샷에 기록
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO rankings (id, user_id, category, rank, score, period, period_start, period_end, " +
+        "created_at, updated_at) " +
+        "SELECT CAST(gen_random_uuid() AS varchar), user_id, :category, " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id), CAST(score AS integer), 'all_time', NULL, :at, :now, :now " +
+        "FROM (" + UserRepository.RANKING_SCORES_SQL + ") scores", nativeQuery = true)
+    int insertAllTimeSnapshot(@Param("category") String category, @Param("at") LocalDateTime at,
+                              @Param("now") LocalDateTime now);
+    
+    // 기간 종료·시작 시점의 all_time 스냅샷 차이로 기간 점수를 기록
+    // 종료 점수는 endSnapshotAt 스냅샷 (놓친 경계를 나중에 채울 때는 그때 기록한 스냅샷)
+    // 시작 스냅샷이 있을 때만 호출하며, 시작 스냅샷에 없는 유저는 기간 중 가입한 유저라 기준 0
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO rankings (id, user_id, category, rank, score, period, period_start, period_end, " +
+        "created_at, updated_at) " +
+        "SELECT CAST(gen_random_uuid() AS varchar), c.user_id, c.category, " +
+        "ROW_NUMBER() OVER (ORDER BY c.score - COALESCE(b.score, 0) DESC, c.user_id), c.score - COALESCE(b.score, 0), " +
+        ":period, :periodStart, :periodEnd, :now, :now " +
+        "FROM rankings c LEFT JOIN rankings b ON b.user_id = c.user_id AND b.category = c.category " +
+        "AND b.period = 'all_time' AND b.period_end = :periodStart " +
+        "WHERE c.category = :category AND c.period = 'all_time' AND c.period_end = :endSnapshotAt", nativeQuery = true)
+    int insertPeriodSnapshot(@Param("category") String category, @Param("period") String period,
+                             @Param("periodStart") LocalDateTime periodStart,
+                             @Param("periodEnd") LocalDateTime periodEnd,
+                             @Param("endSnapshotAt") LocalDateTime endSnapshotAt, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Ranking r WHERE r.period IN :periods AND r.periodEnd < :before")
+    int deleteSnapshotsBefore(@Param("periods") List<String> periods, @Param("before") LocalDateTime before);
+}
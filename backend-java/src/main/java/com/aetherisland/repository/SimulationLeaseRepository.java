@@ -0,0 +1,48 @@
+package com.aetherisland.repository;
+
+import com.aetherisland.entity.SimulationLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SimulationLeaseRepository extends JpaRepository<SimulationLease, Integer> {
+    @Query("SELECT l.partitionId FROM SimulationLease l WHERE l.owner = :owner AND l.expiresAt > :now ORDER BY l.partitionId")
+    List<Integer> findOwnedPartitions(@Param("owner") String owner, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT l.partitionId FROM SimulationLease l WHERE l.owner IS NULL OR l.expiresAt IS NULL OR l.expiresAt <= :now")
+    List<Integer> findClaimablePartitions(@Param("now") LocalDateTime now);
+    
+    // 아직 만료되지 않은 자기 임대만 연장
+    @Transactional
+    @Modifying
+    @Query("UPDATE SimulationLease l SET l.expiresAt = :expiresAt, l.heartbeatAt = :now " +
+           "WHERE l.owner = :owner AND l.expiresAt > :now")
+    int renew(@Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+    
+    // 비어 있거나 만료된 파티션만 조건부 UPDATE로 획득 (노드 간 경쟁 시 한 노드만 성공)
+    @Transactional
+    @Modifying
+    @Query("UPDATE SimulationLease l SET l.owner = :owner, l.expiresAt = :expiresAt, l.heartbeatAt = :now " +
+           "WHERE l.partitionId = :partitionId AND (l.owner IS NULL OR l.expiresAt IS NULL OR l.expiresAt <= :now)")
+    int claim(@Param("partitionId") Integer partitionId, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SimulationLease l SET l.owner = NULL, l.expiresAt = NULL " +
+           "WHERE l.partitionId = :partitionId AND l.owner = :owner")
+    int release(@Param("partitionId") Integer partitionId, @Param("owner") String owner);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SimulationLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.owner = :owner")
+    int releaseAll(@Param("owner") String owner);
+}
@@ -0,0 +1,12 @@
+package com.aetherisland.repository;
+
+import com.aetherisland.entity.SimulationNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SimulationNodeRepository extends JpaRepository<SimulationNode, String> {
+    long countByHeartbeatAtAfter(LocalDateTime since);
+}
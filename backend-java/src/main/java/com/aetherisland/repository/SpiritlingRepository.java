@@ -1,14 +1,22 @@
 package com.aetherisland.repository;
 
 import com.aetherisland.entity.Spiritling;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SpiritlingRepository extends JpaRepository<Spiritling, String> {
     List<Spiritling> findByUserId(String userId);
     long countByUserId(String userId);
+    
+    // 키셋 페이지 조회 (id 순서, afterId 다음부터 limit개)
+    List<Spiritling> findByIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
+    
+    // 임대한 파티션만 키셋 페이지 조회 (멀티 노드 시뮬레이션)
+    List<Spiritling> findBySimPartitionInAndIdGreaterThanOrderByIdAsc(Collection<Integer> partitions, String afterId,
+                                                                     Limit limit);
 }
-
@@ -2,17 +2,136 @@ package com.aetherisland.repository;
 
 import com.aetherisland.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
+    // 유저별 랭킹 점수 (정령 집계를 user_id로 한 번에 묶어 계산, 카테고리는 :category로 선택)
+    String RANKING_SCORES_SQL =
+        "SELECT u.id AS user_id, u.username AS username, " +
+        "CAST(CASE :category " +
+        "  WHEN 'overall' THEN COALESCE(s.total_level, 0) * 10 + COALESCE(s.total_stats, 0) + COALESCE(u.coins, 0) " +
+        "  WHEN 'level' THEN COALESCE(s.max_level, 0) " +
+        "  WHEN 'coins' THEN COALESCE(u.coins, 0) " +
+        "  WHEN 'spiritlings' THEN COALESCE(s.spiritling_count, 0) " +
+        "  ELSE 0 END AS double precision) AS score " +
+        "FROM users u LEFT JOIN (" +
+        "  SELECT user_id, SUM(COALESCE(level, 0)) AS total_level, MAX(COALESCE(level, 0)) AS max_level, " +
+        "  SUM(COALESCE(health_stat, 0) + COALESCE(agility_stat, 0) + COALESCE(intelligence_stat, 0) + " +
+        "  COALESCE(friendliness_stat, 0) + COALESCE(resilience_stat, 0) + COALESCE(luck_stat, 0)) AS total_stats, " +
+        "  COUNT(*) AS spiritling_count " +
+        "  FROM spiritlings GROUP BY user_id" +
+        ") s ON s.user_id = u.id";
+    
+    // 진행 중인 기간의 점수 (기간 시작 시점 all_time 스냅샷 대비 증가분, 기록이 없는 유저는 기준 0)
+    // 시작 스냅샷 자체가 없으면 전체 점수와 같아지므로 결과 없음
+    String RANKING_PERIOD_SCORES_SQL =
+        "SELECT c.user_id, c.username, c.score - COALESCE(b.score, 0) AS score " +
+        "FROM (" + RANKING_SCORES_SQL + ") c LEFT JOIN rankings b ON b.user_id = c.user_id " +
+        "AND b.category = :category AND b.period = 'all_time' AND b.period_end = :periodStart " +
+        "WHERE EXISTS (SELECT 1 FROM rankings s0 WHERE s0.period = 'all_time' AND s0.period_end = :periodStart)";
+    
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-    List<User> findByUsernameContainingIgnoreCase(String username);
+    
+    // 코인 증감은 읽고-쓰기 대신 단일 UPDATE로 처리 (동시 갱신 시 유실 방지)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.coins = u.coins + :amount, u.updatedAt = :now WHERE u.id = :userId")
+    int addCoins(@Param("userId") String userId, @Param("amount") int amount, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.coins = u.coins - :amount, u.updatedAt = :now WHERE u.id = :userId AND u.coins >= :amount")
+    int spendCoins(@Param("userId") String userId, @Param("amount") int amount, @Param("now") LocalDateTime now);
+    
+    // 카테고리 상위 limit명 (같은 점수는 userId 순으로 순위를 나눔, LeaderboardIndex와 같은 규칙)
+    @Query(value = "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_SCORES_SQL + ") scores ORDER BY score DESC, user_id LIMIT :limit", nativeQuery = true)
+    List<RankingScore> findTopRankingScores(@Param("category") String category, @Param("limit") int limit);
+    
+    // 유저 한 명의 카테고리 점수와 순위
+    @Query(value = "SELECT * FROM (" +
+        "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_SCORES_SQL + ") scores" +
+        ") ranked WHERE \"userId\" = :userId", nativeQuery = true)
+    Optional<RankingScore> findRankingScore(@Param("category") String category, @Param("userId") String userId);
+    
+    @Query(value = "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_PERIOD_SCORES_SQL + ") scores ORDER BY score DESC, user_id LIMIT :limit", nativeQuery = true)
+    List<RankingScore> findTopPeriodRankingScores(@Param("category") String category,
+                                                  @Param("periodStart") LocalDateTime periodStart,
+                                                  @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM (" +
+        "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_PERIOD_SCORES_SQL + ") scores" +
+        ") ranked WHERE \"userId\" = :userId", nativeQuery = true)
+    Optional<RankingScore> findPeriodRankingScore(@Param("category") String category,
+                                                  @Param("periodStart") LocalDateTime periodStart,
+                                                  @Param("userId") String userId);
+    
+    // 커서 (score, userId) 다음 순위부터 limit명
+    @Query(value = "SELECT * FROM (" +
+        "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_SCORES_SQL + ") scores" +
+        ") ranked WHERE \"score\" < :score OR (\"score\" = :score AND \"userId\" > :userId) " +
+        "ORDER BY \"score\" DESC, \"userId\" LIMIT :limit", nativeQuery = true)
+    List<RankingScore> findRankingScoresAfter(@Param("category") String category, @Param("score") double score,
+                                              @Param("userId") String userId, @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM (" +
+        "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_PERIOD_SCORES_SQL + ") scores" +
+        ") ranked WHERE \"score\" < :score OR (\"score\" = :score AND \"userId\" > :userId) " +
+        "ORDER BY \"score\" DESC, \"userId\" LIMIT :limit", nativeQuery = true)
+    List<RankingScore> findPeriodRankingScoresAfter(@Param("category") String category,
+                                                    @Param("periodStart") LocalDateTime periodStart,
+                                                    @Param("score") double score, @Param("userId") String userId,
+                                                    @Param("limit") int limit);
+    
+    // 유저 앞뒤로 k명씩 (순위 기준)
+    @Query(value = "WITH ranked AS (" +
+        "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_SCORES_SQL + ") scores" +
+        ") SELECT r.\"userId\", r.\"username\", r.\"score\", r.\"rank\" FROM ranked r " +
+        "JOIN ranked me ON me.\"userId\" = :userId AND r.\"rank\" BETWEEN me.\"rank\" - :k AND me.\"rank\" + :k " +
+        "ORDER BY r.\"rank\"", nativeQuery = true)
+    List<RankingScore> findRankingScoresAround(@Param("category") String category, @Param("userId") String userId,
+                                               @Param("k") int k);
+    
+    @Query(value = "WITH ranked AS (" +
+        "SELECT user_id AS \"userId\", username AS \"username\", score AS \"score\", " +
+        "ROW_NUMBER() OVER (ORDER BY score DESC, user_id) AS \"rank\" " +
+        "FROM (" + RANKING_PERIOD_SCORES_SQL + ") scores" +
+        ") SELECT r.\"userId\", r.\"username\", r.\"score\", r.\"rank\" FROM ranked r " +
+        "JOIN ranked me ON me.\"userId\" = :userId AND r.\"rank\" BETWEEN me.\"rank\" - :k AND me.\"rank\" + :k " +
+        "ORDER BY r.\"rank\"", nativeQuery = true)
+    List<RankingScore> findPeriodRankingScoresAround(@Param("category") String category,
+                                                     @Param("periodStart") LocalDateTime periodStart,
+                                                     @Param("userId") String userId, @Param("k") int k);
+    
+    interface RankingScore {
+        String getUserId();
+        String getUsername();
+        Double getScore();
+        Long getRank();
+    }
 }
-
@@ -0,0 +1,74 @@
+package com.aetherisland.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 페이지 처리 중 생긴 행동 로그를 모았다가 정령 업데이트와 같은 트랜잭션에서 배치 INSERT
+ * 농장일 골드도 유저별로 모아 두었다가 트랜잭션이 커밋된 뒤에만 장부에 넘김
+ * 엔진은 정령 하나를 처리할 때마다 그동안 쌓인 로그·골드를 keep()으로 확정하거나, 예외가 나거나 기록하지 않으면 discard()로 버림
+ * 한 워커 스레드에서만 사용
+ */
+public class ActionLogBuffer implements SpiritlingAIKernel.ActionLogSink {
+    private static final String INSERT_SQL =
+        "INSERT INTO action_logs (id, spiritling_id, action_type, action, message, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Map<String, Integer> gold = new HashMap<>();
+    private final Map<String, Integer> pendingGold = new HashMap<>();
+    // rows[0, kept)는 확정된 로그, 그 뒤는 처리 중인 정령의 로그
+    private int kept;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Override
+    public void log(String spiritlingId, String actionType, String message) {
+        rows.add(new Object[] { UUID.randomUUID().toString(), spiritlingId, actionType, actionType, message, createdAt });
+    }
+    
+    @Override
+    public void creditGold(String userId, int amount) {
+        if (userId != null && amount > 0) {
+            pendingGold.merge(userId, amount, Integer::sum);
+        }
+    }
+    
+    /**
+     * 처리 중인 정령의 로그·골드를 확정 (정령이 기록 대상이 된 경우)
+     */
+    public void keep() {
+        kept = rows.size();
+        pendingGold.forEach((userId, amount) -> gold.merge(userId, amount, Integer::sum));
+        pendingGold.clear();
+    }
+    
+    /**
+     * 처리 중인 정령의 로그·골드를 버림 (예외가 났거나 기록하지 않는 정령)
+     */
+    public void discard() {
+        rows.subList(kept, rows.size()).clear();
+        pendingGold.clear();
+    }
+    
+    public int size() {
+        return rows.size();
+    }
+    
+    public void insert(JdbcTemplate jdbcTemplate) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+    
+    /**
+     * 확정한 골드를 장부에 넘김 (페이지 트랜잭션이 커밋된 뒤에 호출)
+     */
+    public void creditGold(CoinLedger coinLedger) {
+        gold.forEach(coinLedger::credit);
+    }
+}
@@ -0,0 +1,29 @@
+package com.aetherisland.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 메모리 인덱스 갱신을 트랜잭션 커밋 뒤로 미룸 (롤백된 변경이 인덱스에 남지 않도록)
+ */
+final class AfterCommit {
+    
+    private AfterCommit() {
+    }
+    
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에 실행하고 롤백되면 버림, 트랜잭션 밖이면 바로 실행
+     */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
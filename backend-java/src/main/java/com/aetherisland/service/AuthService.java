@@ -15,11 +15,16 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final LeaderboardService leaderboardService;
+    private final UsernameSearchIndex usernameSearchIndex;
     
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider,
+                       LeaderboardService leaderboardService, UsernameSearchIndex usernameSearchIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.leaderboardService = leaderboardService;
+        this.usernameSearchIndex = usernameSearchIndex;
     }
     
     @Transactional
@@ -44,6 +49,8 @@ public class AuthService {
         user.setUpdatedAt(LocalDateTime.now());
         
         User savedUser = userRepository.save(user);
+        AfterCommit.run(() -> leaderboardService.onUserCreated(savedUser));
+        AfterCommit.run(() -> usernameSearchIndex.onUserCreated(savedUser));
         
         return new UserResponse(
             savedUser.getId(),
@@ -0,0 +1,177 @@
+package com.aetherisland.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * battle 대회 토너먼트 (싱글 엘리미네이션)
+ * 참가자는 시드 순서(0이 1번 시드)로 받고, 라운드마다 남은 참가자를 시드 순으로 다시 정렬해 최상위 대 최하위로 대진
+ * 인원이 홀수면 최상위 시드가 부전승. 한 라운드의 경기는 서로 독립이라 청크로 나눠 여러 스레드에서 동시에 실행하며,
+ * 경기마다 (시드, 라운드, 경기 번호)로 난수열을 만들므로 스레드 수·실행 순서와 관계없이 결과가 같음
+ */
+public class BattleBracketEngine {
+    private static final int MIN_CHUNK_SIZE = 2048;
+    private static final int MAX_TURNS = 30;
+    
+    private final ExecutorService workers;
+    private final int threads;
+    
+    /**
+     * @param workers 라운드 경기를 나눠 실행할 풀 (null이면 호출한 스레드에서 실행)
+     */
+    public BattleBracketEngine(ExecutorService workers, int threads) {
+        this.workers = workers;
+        this.threads = workers != null ? Math.max(threads, 1) : 1;
+    }
+    
+    /**
+     * 토너먼트 참가자 능력치 (시드 순서로 인덱싱)
+     */
+    public static class Entrants {
+        public final short[] health;
+        public final short[] agility;
+        public final short[] resilience;
+        public final short[] luck;
+        private int size;
+        
+        public Entrants(int capacity) {
+            health = new short[capacity];
+            agility = new short[capacity];
+            resilience = new short[capacity];
+            luck = new short[capacity];
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public void add(int health, int agility, int resilience, int luck) {
+            this.health[size] = (short) health;
+            this.agility[size] = (short) agility;
+            this.resilience[size] = (short) resilience;
+            this.luck[size] = (short) luck;
+            size++;
+        }
+    }
+    
+    /**
+     * @return 참가자별 최종 순위 (우승 1, 준우승 2, 4강 탈락 3, 8강 탈락 5 ... 같은 라운드 탈락은 같은 순위)
+     */
+    public int[] run(Entrants entrants, long seed) {
+        int n = entrants.size();
+        int[] rank = new int[n];
+        int[] alive = new int[n];
+        for (int i = 0; i < n; i++) {
+            alive[i] = i;
+        }
+        
+        int remaining = n;
+        for (int round = 0; remaining > 1; round++) {
+            int byes = remaining & 1;
+            int matches = remaining >>> 1;
+            int survivors = matches + byes;
+            int[] winners = new int[survivors];
+            if (byes == 1) {
+                winners[0] = alive[0];
+            }
+            playRound(entrants, seed, round, alive, remaining, byes, matches, winners, rank, survivors + 1);
+            // 인덱스가 곧 시드이므로 정렬하면 다음 라운드 시드 순서
+            Arrays.sort(winners);
+            alive = winners;
+            remaining = survivors;
+        }
+        if (n > 0) {
+            rank[alive[0]] = 1;
+        }
+        return rank;
+    }
+    
+    private void playRound(Entrants entrants, long seed, int round, int[] alive, int remaining, int byes,
+                           int matches, int[] winners, int[] rank, int loserRank) {
+        int chunks = Math.min(threads, Math.max(1, matches / MIN_CHUNK_SIZE));
+        if (chunks == 1) {
+            playMatches(entrants, seed, round, alive, remaining, byes, 0, matches, winners, rank, loserRank);
+            return;
+        }
+        
+        int chunkSize = (matches + chunks - 1) / chunks;
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < matches; from += chunkSize) {
+            int start = from;
+            int end = Math.min(matches, from + chunkSize);
+            futures.add(workers.submit((Callable<Void>) () -> {
+                playMatches(entrants, seed, round, alive, remaining, byes, start, end, winners, rank, loserRank);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("토너먼트 실행이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("토너먼트 경기 실행 실패", e.getCause());
+        }
+    }
+    
+    // 경기 [from, to): 부전승을 뺀 i번째 상위 시드 대 i번째 하위 시드
+    private static void playMatches(Entrants entrants, long seed, int round, int[] alive, int remaining, int byes,
+                                    int from, int to, int[] winners, int[] rank, int loserRank) {
+        for (int match = from; match < to; match++) {
+            int a = alive[byes + match];
+            int b = alive[remaining - 1 - match];
+            int winner = fight(entrants, a, b, SimulationRandom.forMatch(seed, round, match));
+            winners[byes + match] = winner;
+            rank[winner == a ? b : a] = loserRank;
+        }
+    }
+    
+    /**
+     * 1:1 경기: 턴마다 민첩에 비례한 확률로 선공을 정하고 서로 한 번씩 공격
+     * 피해 = 8 + 민첩/4 + (0~7) - 상대 회복력/5 (최소 1), 행운/200 확률로 치명타(2배)
+     * MAX_TURNS 안에 끝나지 않으면 남은 체력 비율이 높은 쪽, 같으면 상위 시드가 승리
+     * @return 승자 인덱스
+     */
+    static int fight(Entrants e, int a, int b, SplittableRandom random) {
+        int maxA = 50 + 5 * e.health[a];
+        int maxB = 50 + 5 * e.health[b];
+        int hpA = maxA;
+        int hpB = maxB;
+        
+        for (int turn = 0; turn < MAX_TURNS; turn++) {
+            boolean aFirst = random.nextInt(e.agility[a] + e.agility[b] + 2) <= e.agility[a];
+            if (aFirst) {
+                hpB -= damage(e, a, b, random);
+                if (hpB <= 0) return a;
+                hpA -= damage(e, b, a, random);
+                if (hpA <= 0) return b;
+            } else {
+                hpA -= damage(e, b, a, random);
+                if (hpA <= 0) return b;
+                hpB -= damage(e, a, b, random);
+                if (hpB <= 0) return a;
+            }
+        }
+        // 남은 체력 비율 비교 (hpA/maxA vs hpB/maxB를 정수로)
+        long left = (long) hpA * maxB;
+        long right = (long) hpB * maxA;
+        if (left != right) {
+            return left > right ? a : b;
+        }
+        return Math.min(a, b);
+    }
+    
+    private static int damage(Entrants e, int attacker, int defender, SplittableRandom random) {
+        int damage = Math.max(1, 8 + e.agility[attacker] / 4 + random.nextInt(8) - e.resilience[defender] / 5);
+        return random.nextInt(200) < e.luck[attacker] ? damage * 2 : damage;
+    }
+}
@@ -0,0 +1,81 @@
+package com.aetherisland.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시뮬레이션 회차 동안 유저별 코인 증가분을 모아두는 장부
+ * 정령마다 유저를 읽고 저장하는 대신, 회차가 끝날 때 유저당 UPDATE 한 번으로 반영
+ */
+@Component
+public class CoinLedger {
+    private static final String ADD_COINS_SQL =
+        "UPDATE users SET coins = coins + ?, updated_at = ? WHERE id = ?";
+    
+    private final ConcurrentHashMap<String, Integer> deltas = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+    
+    public CoinLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      LeaderboardService leaderboardService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaderboardService = leaderboardService;
+    }
+    
+    public void credit(String userId, int amount) {
+        if (userId == null || amount <= 0) {
+            return;
+        }
+        deltas.merge(userId, amount, Integer::sum);
+    }
+    
+    /**
+     * 모아둔 증가분을 한 트랜잭션의 배치 UPDATE로 반영
+     * 실패하면 증가분을 장부에 되돌려 다음 회차에 다시 시도
+     * @return 반영한 유저 수
+     */
+    public int flush() {
+        List<Map.Entry<String, Integer>> drained = new ArrayList<>();
+        for (String userId : deltas.keySet()) {
+            Integer amount = deltas.remove(userId);
+            if (amount != null) {
+                drained.add(Map.entry(userId, amount));
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+        
+        // 유저 id 순서로 잠금을 잡아 동시 트랜잭션과의 교착을 피함
+        drained.sort(Map.Entry.comparingByKey());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(ADD_COINS_SQL, drained, drained.size(), (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setTimestamp(2, now);
+                    ps.setString(3, entry.getKey());
+                })
+            );
+        } catch (RuntimeException e) {
+            drained.forEach(entry -> credit(entry.getKey(), entry.getValue()));
+            System.err.println("Error flushing coin ledger: " + e.getMessage());
+            return 0;
+        }
+        
+        drained.forEach(entry -> leaderboardService.addCoins(entry.getKey(), entry.getValue()));
+        return drained.size();
+    }
+}
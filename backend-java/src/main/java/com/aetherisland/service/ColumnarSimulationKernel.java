@@ -0,0 +1,245 @@
+package com.aetherisland.service;
+
+import java.util.SplittableRandom;
+
+import static com.aetherisland.service.SpiritlingColumns.Action;
+import static com.aetherisland.service.SpiritlingColumns.GrowthStage;
+import static com.aetherisland.service.SpiritlingColumns.Personality;
+
+/**
+ * SpiritlingColumns 배열 위에서 동작하는 시뮬레이션·자율 행동 커널
+ * SpiritlingSimulationKernel, SpiritlingAIService와 같은 규칙을 slot 범위 단위로 적용하며 객체를 할당하지 않음
+ * 서로 겹치지 않는 slot 범위(64의 배수 경계)는 여러 스레드에서 동시에 처리할 수 있음
+ */
+public class ColumnarSimulationKernel {
+    private static final int IDLE = Action.IDLE.ordinal();
+    private static final int TRAINING = Action.TRAINING.ordinal();
+    private static final int RESTING = Action.RESTING.ordinal();
+    private static final int FARMING = Action.FARMING.ordinal();
+    private static final int EXPLORING = Action.EXPLORING.ordinal();
+    private static final int PLAYING = Action.PLAYING.ordinal();
+    
+    private static final int HARD_WORKER = Personality.HARD_WORKER.ordinal();
+    private static final int LAZY = Personality.LAZY.ordinal();
+    private static final int GLUTTON = Personality.GLUTTON.ordinal();
+    private static final int LONER = Personality.LONER.ordinal();
+    private static final int PLAYFUL = Personality.PLAYFUL.ordinal();
+    
+    /**
+     * [from, to) 범위 정령에 시간 경과(minutes분)를 적용
+     * 값이 실제로 바뀌었거나 골드가 생긴 slot만 dirty로 표시
+     */
+    public void simulate(SpiritlingColumns c, int from, int to, int minutes) {
+        if (minutes <= 0) return;
+        
+        for (int i = from; i < to; i++) {
+            int hunger = Math.max(0, c.hunger[i] - minutes / 10);
+            int energy = Math.max(0, c.energy[i] - minutes / 15);
+            int happiness = Math.max(0, c.happiness[i] - minutes / 20);
+            int cleanliness = Math.max(0, c.cleanliness[i] - minutes / 30);
+            int healthStatus = c.healthStatus[i];
+            int experience = c.experience[i];
+            int action = c.action[i];
+            int gold = 0;
+            
+            if (action == TRAINING) {
+                experience += minutes * 2;
+                energy = Math.max(0, energy - minutes / 2);
+                hunger = Math.max(0, hunger - minutes / 8);
+            } else if (action == RESTING) {
+                energy = Math.min(100, energy + minutes / 3);
+                healthStatus = Math.min(100, healthStatus + minutes / 5);
+                hunger = Math.max(0, hunger - minutes / 15);
+            } else if (action == FARMING) {
+                experience += minutes;
+                energy = Math.max(0, energy - minutes / 3);
+                hunger = Math.max(0, hunger - minutes / 5);
+                gold = minutes / 5;
+            } else if (action == EXPLORING) {
+                experience += minutes * 3;
+                energy = Math.max(0, energy - minutes / 2);
+                hunger = Math.max(0, hunger - minutes / 8);
+            } else if (action == PLAYING) {
+                happiness = Math.min(100, happiness + minutes / 5);
+                energy = Math.max(0, energy - minutes / 4);
+                experience += minutes;
+            } else {
+                if (hunger < 50 && energy > 50) {
+                    hunger = Math.min(100, hunger + minutes / 10);
+                }
+                if (energy < 30) {
+                    energy = Math.min(100, energy + minutes / 5);
+                }
+            }
+            
+            // 성격에 따른 추가 효과
+            int personality = c.personality[i];
+            if (personality == HARD_WORKER) {
+                if (action == TRAINING || action == FARMING) {
+                    experience += minutes / 5;
+                    energy = Math.max(0, energy - minutes / 3);
+                }
+            } else if (personality == LAZY) {
+                if (action == RESTING) {
+                    energy = Math.min(100, energy + minutes / 2);
+                } else if (action == TRAINING) {
+                    experience += minutes / 3;
+                }
+            } else if (personality == GLUTTON) {
+                hunger = Math.max(0, hunger - minutes / 7);
+                if (hunger > 70) {
+                    happiness = Math.min(100, happiness + minutes / 15);
+                }
+            } else if (personality == LONER) {
+                if (action != IDLE) {
+                    happiness = Math.max(0, happiness - minutes / 30);
+                }
+            } else if (personality == PLAYFUL) {
+                if (action == PLAYING) {
+                    happiness = Math.min(100, happiness + minutes / 3);
+                } else if (action != IDLE) {
+                    happiness = Math.max(0, happiness - minutes / 40);
+                }
+            }
+            
+            // 바뀐 값이 없으면 dirty로 표시하지 않아 플러시에서 빠짐
+            if (hunger == c.hunger[i] && energy == c.energy[i] && happiness == c.happiness[i]
+                && cleanliness == c.cleanliness[i] && healthStatus == c.healthStatus[i]
+                && experience == c.experience[i] && experience < c.level[i] * 100 && gold == 0) {
+                continue;
+            }
+            
+            c.pendingGold[i] += gold;
+            c.hunger[i] = (short) hunger;
+            c.energy[i] = (short) energy;
+            c.happiness[i] = (short) happiness;
+            c.cleanliness[i] = (short) cleanliness;
+            c.healthStatus[i] = (short) healthStatus;
+            c.experience[i] = experience;
+            
+            // 레벨업 (남은 경험치를 이월하며 반복)
+            int requiredExp = c.level[i] * 100;
+            while (c.experience[i] >= requiredExp) {
+                c.experience[i] -= requiredExp;
+                levelUp(c, i, true);
+                requiredExp = c.level[i] * 100;
+            }
+            
+            c.markDirty(i);
+        }
+    }
+    
+    /**
+     * [from, to) 범위 정령에 자율 행동 AI를 적용 (SpiritlingAIKernel.act와 같은 확률)
+     * 난수열은 틱 시드와 정령 id로 만들므로 구간 분할과 무관하게 재현 가능
+     */
+    public void act(SpiritlingColumns c, int from, int to, long tickSeed) {
+        for (int i = from; i < to; i++) {
+            SplittableRandom random = SimulationRandom.forSpiritling(tickSeed, c.ids[i]);
+            
+            // 상태 업데이트 (50% 확률)
+            if (random.nextDouble() < 0.5 && updateStatus(c, i, random)) {
+                c.markDirty(i);
+            }
+            
+            // 자율 행동 (30% 확률)
+            if (random.nextDouble() < 0.3) {
+                autonomousAction(c, i, random);
+            }
+        }
+    }
+    
+    /**
+     * @return 값이 하나라도 바뀌었으면 true
+     */
+    private boolean updateStatus(SpiritlingColumns c, int i, SplittableRandom random) {
+        int hunger = c.hunger[i];
+        int happiness = c.happiness[i];
+        int energy = c.energy[i];
+        int healthStatus = c.healthStatus[i];
+        int cleanliness = c.cleanliness[i];
+        
+        if (c.hunger[i] > 0) {
+            c.hunger[i] = (short) Math.max(0, c.hunger[i] - random.nextInt(3) + 1);
+        }
+        
+        int happinessDecrease = c.hunger[i] < 30 ? random.nextInt(3) + 2 : random.nextInt(2);
+        c.happiness[i] = (short) Math.max(0, c.happiness[i] - happinessDecrease);
+        
+        if (c.energy[i] < 100) {
+            c.energy[i] = (short) Math.min(100, c.energy[i] + random.nextInt(2) + 1);
+        }
+        
+        if (c.cleanliness[i] < 30) {
+            c.healthStatus[i] = (short) Math.max(0, c.healthStatus[i] - random.nextInt(2));
+        }
+        
+        if (c.cleanliness[i] > 0) {
+            c.cleanliness[i] = (short) Math.max(0, c.cleanliness[i] - random.nextInt(2));
+        }
+        
+        return hunger != c.hunger[i] || happiness != c.happiness[i] || energy != c.energy[i]
+            || healthStatus != c.healthStatus[i] || cleanliness != c.cleanliness[i];
+    }
+    
+    private void autonomousAction(SpiritlingColumns c, int i, SplittableRandom random) {
+        byte events = c.events[i];
+        
+        if (c.hunger[i] < 30 && random.nextDouble() < 0.3) {
+            c.hunger[i] = (short) Math.min(100, c.hunger[i] + random.nextInt(11) + 10);
+            c.experience[i] += 1;
+            events |= SpiritlingColumns.EVENT_AUTO_EAT;
+        }
+        
+        if (c.happiness[i] < 40 && random.nextDouble() < 0.2) {
+            c.happiness[i] = (short) Math.min(100, c.happiness[i] + random.nextInt(6) + 5);
+            c.energy[i] = (short) Math.max(0, c.energy[i] - random.nextInt(6) + 5);
+            c.experience[i] += 1;
+            events |= SpiritlingColumns.EVENT_AUTO_PLAY;
+        }
+        
+        if (c.energy[i] > 70 && random.nextDouble() < 0.1) {
+            c.energy[i] = (short) Math.max(0, c.energy[i] - random.nextInt(6) + 10);
+            c.experience[i] += random.nextInt(2) + 1;
+            c.activity[i] = (byte) random.nextInt(4);
+            events |= SpiritlingColumns.EVENT_AUTO_ACTIVITY;
+        }
+        
+        // AI 레벨업은 한 단계만 오르고 경험치를 초기화
+        if (c.experience[i] >= c.level[i] * 100) {
+            c.experience[i] = 0;
+            levelUp(c, i, false);
+            events |= SpiritlingColumns.EVENT_LEVEL_UP;
+        }
+        
+        if (events != c.events[i]) {
+            c.events[i] = events;
+            c.markDirty(i);
+        }
+    }
+    
+    private void levelUp(SpiritlingColumns c, int i, boolean updateEggStage) {
+        c.level[i] += 1;
+        c.healthStat[i] = (short) Math.min(100, c.healthStat[i] + 1);
+        c.agilityStat[i] = (short) Math.min(100, c.agilityStat[i] + 1);
+        c.intelligenceStat[i] = (short) Math.min(100, c.intelligenceStat[i] + 1);
+        c.friendlinessStat[i] = (short) Math.min(100, c.friendlinessStat[i] + 1);
+        c.resilienceStat[i] = (short) Math.min(100, c.resilienceStat[i] + 1);
+        c.luckStat[i] = (short) Math.min(100, c.luckStat[i] + 1);
+        
+        int level = c.level[i];
+        if (level >= 50) {
+            c.growthStage[i] = (byte) GrowthStage.ELDER.ordinal();
+        } else if (level >= 40) {
+            c.growthStage[i] = (byte) GrowthStage.TRANSCENDENT.ordinal();
+        } else if (level >= 25) {
+            c.growthStage[i] = (byte) GrowthStage.ADULT.ordinal();
+        } else if (level >= 15) {
+            c.growthStage[i] = (byte) GrowthStage.ADOLESCENT.ordinal();
+        } else if (level >= 5) {
+            c.growthStage[i] = (byte) GrowthStage.INFANT.ordinal();
+        } else if (updateEggStage) {
+            c.growthStage[i] = (byte) GrowthStage.EGG.ordinal();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Competition;
+import com.aetherisland.entity.CompetitionEntry;
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.repository.SpiritlingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 자동 참가 대회 (auto_enter) 참가자 선정
+ * 모든 정령을 페이지 단위로 SpiritlingColumns에 올려 종목 점수를 한 번에 계산하고, 상위 top-size개만 참가 기록으로 남김
+ * 정령마다 참가 요청을 보내지 않고 섬 전체 대회를 열 수 있음
+ */
+@Service
+public class CompetitionAutoEntryService {
+    private static final String INSERT_SQL =
+        "INSERT INTO competition_entries (id, competition_id, spiritling_id, score, created_at) " +
+        "VALUES (?, ?, ?, ?, ?) ON CONFLICT (competition_id, spiritling_id) DO NOTHING";
+    
+    private final SpiritlingRepository spiritlingRepository;
+    private final SpiritlingSimulationService simulationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final CompetitionScoringKernel scoringKernel = new CompetitionScoringKernel();
+    private final int pageSize;
+    private final int topSize;
+    
+    public CompetitionAutoEntryService(
+        SpiritlingRepository spiritlingRepository,
+        SpiritlingSimulationService simulationService,
+        JdbcTemplate jdbcTemplate,
+        @Value("${competition.auto-entry.page-size:1000}") int pageSize,
+        @Value("${competition.auto-entry.top-size:100}") int topSize
+    ) {
+        this.spiritlingRepository = spiritlingRepository;
+        this.simulationService = simulationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = Math.max(pageSize, 1);
+        this.topSize = Math.max(topSize, 0);
+    }
+    
+    /**
+     * 전체 정령 중 점수 상위 참가자 (점수 내림차순, 저장은 insert에서)
+     * 트랜잭션 밖에서 호출 (정령 수만큼 읽으므로 종료 트랜잭션을 길게 잡지 않도록)
+     */
+    public List<CompetitionEntry> selectEntrants(Competition competition) {
+        long startedAt = System.currentTimeMillis();
+        CompetitionScoringKernel.Weights weights = CompetitionScoringKernel.Weights.of(competition.getType());
+        CompetitionScoringKernel.TopScores top = new CompetitionScoringKernel.TopScores(topSize);
+        double[] scores = new double[pageSize];
+        int scanned = 0;
+        
+        String afterId = "";
+        while (true) {
+            List<Spiritling> page = spiritlingRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            // lazy 모드에서는 현재 시각까지 진행된 능력치로 계산
+            SpiritlingColumns columns = new SpiritlingColumns(page.size());
+            for (Spiritling spiritling : page) {
+                columns.put(simulationService.project(spiritling));
+            }
+            scoringKernel.scoreAll(columns, 0, columns.size(), weights, 0.0, scores);
+            for (int slot = 0; slot < columns.size(); slot++) {
+                top.offer(columns.ids[slot], scores[slot]);
+            }
+            scanned += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+        
+        top.sort();
+        LocalDateTime now = LocalDateTime.now();
+        List<CompetitionEntry> entrants = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            CompetitionEntry entry = new CompetitionEntry();
+            entry.setId(UUID.randomUUID().toString());
+            entry.setCompetitionId(competition.getId());
+            entry.setSpiritlingId(top.idAt(i));
+            entry.setScore(top.scoreAt(i));
+            entry.setCreatedAt(now);
+            entrants.add(entry);
+        }
+        System.out.println("✅ 자동 참가 선정: " + competition.getName() + " (" + scanned + "마리 중 "
+            + entrants.size() + "마리, " + (System.currentTimeMillis() - startedAt) + "ms)");
+        return entrants;
+    }
+    
+    /**
+     * 선정된 참가자 배치 저장 (호출한 쪽의 트랜잭션에 참여)
+     */
+    public void insert(List<CompetitionEntry> entrants) {
+        if (entrants.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entrants, entrants.size(), (ps, entry) -> {
+            ps.setString(1, entry.getId());
+            ps.setString(2, entry.getCompetitionId());
+            ps.setString(3, entry.getSpiritlingId());
+            ps.setDouble(4, entry.getScore());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+    }
+}
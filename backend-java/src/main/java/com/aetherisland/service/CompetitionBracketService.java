@@ -0,0 +1,98 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Competition;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * battle 대회 순위를 토너먼트(BattleBracketEngine)로 확정
+ * 참가 점수 순으로 시드를 정하고, 대회 id로 만든 시드로 경기를 진행하므로 같은 참가자면 어느 노드에서 실행해도 같은 결과
+ * 순위는 UPDATE 배치 한 번으로 기록 (능력치는 저장된 값 사용)
+ */
+@Service
+public class CompetitionBracketService {
+    private static final String BATTLE = "battle";
+    private static final String ENTRANTS_SQL =
+        "SELECT ce.id, s.health_stat, s.agility_stat, s.resilience_stat, s.luck_stat " +
+        "FROM competition_entries ce JOIN spiritlings s ON s.id = ce.spiritling_id " +
+        "WHERE ce.competition_id = ? ORDER BY ce.score DESC, ce.created_at, ce.id";
+    private static final String UPDATE_RANK_SQL = "UPDATE competition_entries SET rank = ? WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService workers;
+    private final BattleBracketEngine engine;
+    
+    public CompetitionBracketService(
+        JdbcTemplate jdbcTemplate,
+        @Value("${competition.bracket.parallelism:0}") int parallelism
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.workers = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "competition-bracket-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.engine = new BattleBracketEngine(workers, threads);
+    }
+    
+    public boolean appliesTo(Competition competition) {
+        return BATTLE.equals(competition.getType());
+    }
+    
+    /**
+     * 토너먼트를 진행하고 참가 기록 순위를 확정 (호출한 쪽의 트랜잭션에 참여)
+     * @return 순위를 기록한 참가 기록 수
+     */
+    public int finalizeRanks(String competitionId) {
+        long startedAt = System.currentTimeMillis();
+        List<String> entryIds = new ArrayList<>();
+        List<int[]> stats = new ArrayList<>();
+        jdbcTemplate.query(ENTRANTS_SQL, rs -> {
+            entryIds.add(rs.getString(1));
+            stats.add(new int[] {rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)});
+        }, competitionId);
+        if (entryIds.isEmpty()) {
+            return 0;
+        }
+        
+        BattleBracketEngine.Entrants entrants = new BattleBracketEngine.Entrants(entryIds.size());
+        for (int[] stat : stats) {
+            entrants.add(stat[0], stat[1], stat[2], stat[3]);
+        }
+        int[] ranks = engine.run(entrants, SimulationRandom.seedOf(competitionId));
+        
+        List<Integer> order = new ArrayList<>(ranks.length);
+        for (int i = 0; i < ranks.length; i++) {
+            order.add(i);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, order, order.size(), (ps, i) -> {
+            ps.setInt(1, ranks[i]);
+            ps.setString(2, entryIds.get(i));
+        });
+        System.out.println("✅ 토너먼트 순위 확정: " + competitionId + " (" + ranks.length + "명, "
+            + (System.currentTimeMillis() - startedAt) + "ms)");
+        return ranks.length;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
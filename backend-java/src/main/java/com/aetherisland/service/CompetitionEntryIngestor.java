@@ -0,0 +1,210 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.CompetitionEntry;
+import com.aetherisland.exception.ApiException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대회 참가 기록 write-behind 적재
+ * 중복 참가는 대회별 메모리 집합으로 바로 거절하고, 받은 기록은 제한된 큐에 넣어 배치 INSERT로 저장
+ * 큐가 가득 차면 기다리지 않고 거절 (유니크 제약과 ON CONFLICT로 다른 노드와의 중복도 막음)
+ * 저장 시점에 대회가 active가 아니면 버림 (대회 행을 공유 잠금해 종료 처리와 엇갈리지 않도록 함)
+ */
+@Service
+public class CompetitionEntryIngestor {
+    // 종료 처리(CompetitionLifecycleService.close)의 상태 UPDATE는 FOR SHARE 잠금이 풀릴 때까지 기다리므로
+    // 순위 확정 뒤에 순위 없는 기록이 들어오지 않음
+    private static final String INSERT_SQL =
+        "INSERT INTO competition_entries (id, competition_id, spiritling_id, score, created_at) " +
+        "SELECT ?, ?, ?, ?, ? WHERE EXISTS (" +
+        "SELECT 1 FROM competitions WHERE id = ? AND status = 'active' FOR SHARE) " +
+        "ON CONFLICT (competition_id, spiritling_id) DO NOTHING";
+    private static final String ENTERED_SQL =
+        "SELECT spiritling_id FROM competition_entries WHERE competition_id = ?";
+    private static final String OPEN_SQL =
+        "SELECT id FROM competitions WHERE id = ANY (?) AND status IN ('upcoming', 'active')";
+    private static final long CLEANUP_INTERVAL_MILLIS = 10000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CompetitionLifecycleService lifecycleService;
+    private final CompetitionRankingService rankingService;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<CompetitionEntry> queue;
+    // 대회별 참가한 정령 id (처음 참가 요청이 올 때 DB에서 적재)
+    private final ConcurrentHashMap<String, Set<String>> entered = new ConcurrentHashMap<>();
+    // writer 스레드에서만 사용
+    private long lastCleanupAt;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "competition-entry-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public CompetitionEntryIngestor(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        CompetitionLifecycleService lifecycleService,
+        CompetitionRankingService rankingService,
+        @Value("${competition.entry.queue-capacity:10000}") int queueCapacity,
+        @Value("${competition.entry.batch-size:500}") int batchSize,
+        @Value("${competition.entry.flush-interval-ms:50}") long flushIntervalMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lifecycleService = lifecycleService;
+        this.rankingService = rankingService;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+    
+    @PostConstruct
+    public void start() {
+        writer.scheduleWithFixedDelay(this::drain, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 참가 기록 접수 (저장은 비동기, 소유권·대회 상태 확인은 호출한 쪽에서 처리)
+     * @throws ApiException 이미 참가했거나(400) 큐가 가득 찬 경우(503)
+     */
+    public void submit(CompetitionEntry entry) {
+        Set<String> spiritlings = entered.computeIfAbsent(entry.getCompetitionId(), this::loadEntered);
+        if (!spiritlings.add(entry.getSpiritlingId())) {
+            throw new ApiException("이미 참가한 대회입니다.", HttpStatus.BAD_REQUEST);
+        }
+        if (!queue.offer(entry)) {
+            spiritlings.remove(entry.getSpiritlingId());
+            throw new ApiException("참가 요청이 많습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 남은 기록을 모두 저장
+        while (!queue.isEmpty()) {
+            if (!flush()) {
+                break;
+            }
+        }
+    }
+    
+    private void drain() {
+        while (!queue.isEmpty() && flush()) {
+            // 큐가 빌 때까지 배치 단위로 저장
+        }
+        cleanup();
+    }
+    
+    /**
+     * 끝난 대회의 참가 집합 정리
+     * 메모리 대회 목록은 시작 직후 비어 있거나 새 대회가 늦게 반영될 수 있으므로 DB에서 끝난 것을 확인한 뒤에만 제거
+     * (집합이 사라진 뒤 큐에 남은 기록과 같은 정령이 다시 들어오면 202로 받고 ON CONFLICT로 버려지게 됨)
+     */
+    private void cleanup() {
+        long now = System.currentTimeMillis();
+        if (now - lastCleanupAt < CLEANUP_INTERVAL_MILLIS || !queue.isEmpty()) {
+            return;
+        }
+        lastCleanupAt = now;
+        List<String> candidates = entered.keySet().stream()
+            .filter(competitionId -> lifecycleService.findOpen(competitionId).isEmpty())
+            .toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        try {
+            String[] ids = candidates.toArray(new String[0]);
+            Set<String> open = new HashSet<>(jdbcTemplate.query(OPEN_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", ids)),
+                (rs, rowNum) -> rs.getString("id")));
+            candidates.stream()
+                .filter(competitionId -> !open.contains(competitionId))
+                .forEach(entered::remove);
+        } catch (RuntimeException e) {
+            System.err.println("Error cleaning competition entry sets: " + e.getMessage());
+        }
+    }
+    
+    // @return 저장에 성공했으면 true
+    private boolean flush() {
+        List<CompetitionEntry> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return true;
+        }
+        
+        int[][] inserted;
+        try {
+            inserted = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                    ps.setString(1, entry.getId());
+                    ps.setString(2, entry.getCompetitionId());
+                    ps.setString(3, entry.getSpiritlingId());
+                    ps.setDouble(4, entry.getScore());
+                    ps.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()));
+                    ps.setString(6, entry.getCompetitionId());
+                }));
+        } catch (RuntimeException e) {
+            // 다음 회차에 다시 시도 (큐에 자리가 없으면 접수를 취소)
+            for (CompetitionEntry entry : batch) {
+                if (!queue.offer(entry)) {
+                    Set<String> spiritlings = entered.get(entry.getCompetitionId());
+                    if (spiritlings != null) {
+                        spiritlings.remove(entry.getSpiritlingId());
+                    }
+                }
+            }
+            System.err.println("Error writing competition entries: " + e.getMessage());
+            return false;
+        }
+        
+        // 0행이면 다른 노드가 먼저 저장했거나 저장 전에 대회가 끝난 기록
+        int dropped = 0;
+        int[] counts = inserted[0];
+        for (int i = 0; i < batch.size(); i++) {
+            CompetitionEntry entry = batch.get(i);
+            if (counts[i] == 0) {
+                dropped++;
+            } else {
+                rankingService.onEntry(entry.getCompetitionId(), entry.getScore());
+            }
+        }
+        if (dropped > 0) {
+            System.out.println("⚠️ 저장하지 않은 대회 참가 기록: " + dropped + "건 (중복 또는 종료된 대회)");
+        }
+        return true;
+    }
+    
+    private Set<String> loadEntered(String competitionId) {
+        Set<String> spiritlings = ConcurrentHashMap.newKeySet();
+        spiritlings.addAll(jdbcTemplate.queryForList(ENTERED_SQL, String.class, competitionId));
+        return spiritlings;
+    }
+}
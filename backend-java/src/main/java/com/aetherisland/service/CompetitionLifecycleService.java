@@ -0,0 +1,244 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Competition;
+import com.aetherisland.entity.CompetitionEntry;
+import com.aetherisland.repository.CompetitionEntryRepository;
+import com.aetherisland.repository.CompetitionRepository;
+import com.aetherisland.repository.ItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대회 상태 전환과 진행 중인 대회 목록 관리
+ * 주기적으로 시작·종료 시각이 지난 대회를 upcoming → active → ended로 바꾸고,
+ * upcoming·active 대회를 메모리에 들고 있어 목록·단건 조회는 DB를 거치지 않음
+ * 종료 시 순위 확정(battle은 토너먼트)과 보상 지급(1~3위, 같은 순위는 모두 지급)을 한 트랜잭션에서 배치로 처리
+ */
+@Service
+public class CompetitionLifecycleService {
+    private static final List<String> OPEN_STATUSES = List.of("upcoming", "active");
+    private static final List<String> REWARD_TIERS = List.of("first", "second", "third");
+    private static final String ADD_QUANTITY_SQL =
+        "UPDATE user_items SET quantity = quantity + ? WHERE user_id = ? AND item_id = ?";
+    private static final String INSERT_ITEM_SQL =
+        "INSERT INTO user_items (id, user_id, item_id, quantity, created_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private final CompetitionRepository competitionRepository;
+    private final CompetitionEntryRepository competitionEntryRepository;
+    private final ItemRepository itemRepository;
+    private final CompetitionAutoEntryService autoEntryService;
+    private final CompetitionBracketService bracketService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "competition-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // upcoming·active 대회 (시작 시각 순, 갱신할 때 통째로 교체)
+    private volatile Map<String, Competition> openCompetitions = Map.of();
+    
+    public CompetitionLifecycleService(
+        CompetitionRepository competitionRepository,
+        CompetitionEntryRepository competitionEntryRepository,
+        ItemRepository itemRepository,
+        CompetitionAutoEntryService autoEntryService,
+        CompetitionBracketService bracketService,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Value("${competition.lifecycle.interval-ms:10000}") long intervalMillis
+    ) {
+        this.competitionRepository = competitionRepository;
+        this.competitionEntryRepository = competitionEntryRepository;
+        this.itemRepository = itemRepository;
+        this.autoEntryService = autoEntryService;
+        this.bracketService = bracketService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalMillis = intervalMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    public List<Competition> getOpenCompetitions() {
+        return List.copyOf(openCompetitions.values());
+    }
+    
+    /**
+     * upcoming·active 대회 조회 (종료되었거나 없는 대회면 empty)
+     */
+    public Optional<Competition> findOpen(String competitionId) {
+        return Optional.ofNullable(openCompetitions.get(competitionId));
+    }
+    
+    private void tick() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (Competition competition : competitionRepository.findByStatusIn(OPEN_STATUSES)) {
+                if ("upcoming".equals(competition.getStatus()) && reached(competition.getStartDate(), now)
+                    && competitionRepository.transition(competition.getId(), "upcoming", "active") > 0) {
+                    competition.setStatus("active");
+                    System.out.println("✅ 대회 시작: " + competition.getName());
+                }
+                if ("active".equals(competition.getStatus()) && reached(competition.getEndDate(), now)) {
+                    close(competition);
+                }
+            }
+            refresh();
+        } catch (Exception e) {
+            System.err.println("Error updating competitions: " + e.getMessage());
+        }
+    }
+    
+    private void refresh() {
+        Map<String, Competition> loaded = new LinkedHashMap<>();
+        competitionRepository.findByStatusIn(OPEN_STATUSES).stream()
+            .sorted(Comparator.comparing(Competition::getStartDate, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .forEach(competition -> loaded.put(competition.getId(), competition));
+        openCompetitions = loaded;
+    }
+    
+    /**
+     * 종료 처리: 상태 변경, (자동 참가 대회면) 참가자 기록, 순위 확정, 보상 지급을 한 트랜잭션으로 처리
+     * 다른 노드가 먼저 종료했으면 아무것도 하지 않음
+     */
+    private void close(Competition competition) {
+        List<CompetitionEntry> entrants = competition.isAutoEnter()
+            ? autoEntryService.selectEntrants(competition)
+            : List.of();
+        Integer granted = transactionTemplate.execute(status -> {
+            if (competitionRepository.transition(competition.getId(), "active", "ended") == 0) {
+                return null;
+            }
+            autoEntryService.insert(entrants);
+            if (bracketService.appliesTo(competition)) {
+                bracketService.finalizeRanks(competition.getId());
+            } else {
+                competitionEntryRepository.finalizeRanks(competition.getId());
+            }
+            return payRewards(competition);
+        });
+        if (granted != null) {
+            System.out.println("✅ 대회 종료: " + competition.getName() + " (보상 " + granted + "건)");
+        }
+    }
+    
+    private int payRewards(Competition competition) {
+        Map<Integer, List<Reward>> rewardsByRank = parseRewards(competition);
+        if (rewardsByRank.isEmpty()) {
+            return 0;
+        }
+        
+        // 한 유저가 여러 정령으로 입상한 경우를 합쳐 (유저, 아이템)당 한 행으로 지급
+        Map<List<String>, Integer> grants = new LinkedHashMap<>();
+        for (CompetitionEntryRepository.Winner winner :
+            competitionEntryRepository.findWinners(competition.getId(), REWARD_TIERS.size())) {
+            for (Reward reward : rewardsByRank.getOrDefault(winner.getRank(), List.of())) {
+                grants.merge(List.of(winner.getUserId(), reward.itemId()), reward.quantity(), Integer::sum);
+            }
+        }
+        
+        Set<String> itemIds = new HashSet<>();
+        grants.keySet().forEach(key -> itemIds.add(key.get(1)));
+        Set<String> existingItems = new HashSet<>();
+        itemRepository.findAllById(itemIds).forEach(item -> existingItems.add(item.getId()));
+        List<Map.Entry<List<String>, Integer>> rows = grants.entrySet().stream()
+            .filter(grant -> existingItems.contains(grant.getKey().get(1)))
+            .toList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        
+        // 이미 가진 아이템은 수량만 늘리고, 없는 아이템만 새로 INSERT
+        int[] updated = jdbcTemplate.batchUpdate(ADD_QUANTITY_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.getValue());
+            ps.setString(2, row.getKey().get(0));
+            ps.setString(3, row.getKey().get(1));
+        })[0];
+        List<Map.Entry<List<String>, Integer>> inserts = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                inserts.add(rows.get(i));
+            }
+        }
+        if (inserts.isEmpty()) {
+            return rows.size();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, inserts, inserts.size(), (ps, row) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, row.getKey().get(0));
+            ps.setString(3, row.getKey().get(1));
+            ps.setInt(4, row.getValue());
+            ps.setTimestamp(5, now);
+        });
+        return rows.size();
+    }
+    
+    // {"first": [{"id": ..., "quantity": ...}], "second": [...], "third": [...]} → 순위별 보상
+    private Map<Integer, List<Reward>> parseRewards(Competition competition) {
+        Map<Integer, List<Reward>> rewardsByRank = new HashMap<>();
+        if (competition.getRewards() == null || competition.getRewards().isBlank()) {
+            return rewardsByRank;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(competition.getRewards());
+            for (int i = 0; i < REWARD_TIERS.size(); i++) {
+                List<Reward> rewards = new ArrayList<>();
+                for (JsonNode node : root.path(REWARD_TIERS.get(i))) {
+                    if (node.hasNonNull("id")) {
+                        rewards.add(new Reward(node.get("id").asText(), node.path("quantity").asInt(1)));
+                    }
+                }
+                if (!rewards.isEmpty()) {
+                    rewardsByRank.put(i + 1, rewards);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ 대회 보상 형식 오류 (" + competition.getId() + "): " + e.getMessage());
+        }
+        return rewardsByRank;
+    }
+    
+    private static boolean reached(LocalDateTime time, LocalDateTime now) {
+        return time != null && !time.isAfter(now);
+    }
+    
+    private record Reward(String itemId, int quantity) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Competition;
+import com.aetherisland.repository.CompetitionEntryRepository;
+import com.aetherisland.repository.CompetitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대회 상위 순위 조회 캐시
+ * 대회별로 상위 TOP_SIZE개를 조인 쿼리 한 번으로 읽어 두고 TTL이 지나거나 상위권에 드는 참가가 생기면 다시 읽음
+ * 같은 대회를 동시에 조회해도 DB 조회는 한 번만 실행
+ */
+@Service
+public class CompetitionRankingService {
+    public static final int TOP_SIZE = 10;
+    
+    private final CompetitionRepository competitionRepository;
+    private final CompetitionEntryRepository competitionEntryRepository;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<String, CachedRanking> cache = new ConcurrentHashMap<>();
+    
+    public CompetitionRankingService(
+        CompetitionRepository competitionRepository,
+        CompetitionEntryRepository competitionEntryRepository,
+        @Value("${competition.ranking.cache-ttl-ms:2000}") long ttlMillis
+    ) {
+        this.competitionRepository = competitionRepository;
+        this.competitionEntryRepository = competitionEntryRepository;
+        this.ttlMillis = ttlMillis;
+    }
+    
+    /**
+     * 상위 순위 (rank, spiritling_id, spiritling_name, score)
+     */
+    public List<Map<String, Object>> getTopRanking(String competitionId) {
+        long now = System.currentTimeMillis();
+        CachedRanking cached = cache.get(competitionId);
+        if (cached != null && now - cached.loadedAt < ttlMillis) {
+            return cached.rows;
+        }
+        // compute는 같은 키에 대해 직렬화되므로 먼저 들어온 요청만 DB를 읽음
+        CachedRanking loaded = cache.compute(competitionId, (id, current) ->
+            current != null && now - current.loadedAt < ttlMillis ? current : load(id));
+        return loaded != null ? loaded.rows : List.of();
+    }
+    
+    /**
+     * 새 참가 기록 반영 (저장된 뒤 호출)
+     * 캐시된 상위권에 들 수 있는 점수일 때만 캐시를 비움
+     */
+    public void onEntry(String competitionId, double score) {
+        cache.computeIfPresent(competitionId, (id, current) ->
+            current.rows.size() < TOP_SIZE || score > current.cutoff ? null : current);
+    }
+    
+    // 없는 대회면 null (캐시에 남기지 않음)
+    private CachedRanking load(String competitionId) {
+        Competition competition = competitionRepository.findById(competitionId).orElse(null);
+        if (competition == null) {
+            return null;
+        }
+        // 종료된 대회는 확정 순위(battle은 토너먼트 결과), 진행 중이면 점수 순위
+        // 순위 확정은 종료 처리(CompetitionLifecycleService)에서만 하고 조회에서는 기록하지 않음
+        // (종료 처리를 거치지 않아 확정 순위가 없는 대회는 점수 순위로 보여줌)
+        boolean ended = "ended".equals(competition.getStatus())
+            && competitionEntryRepository.existsByCompetitionIdAndRankIsNotNull(competitionId);
+        List<CompetitionEntryRepository.RankingRow> ranking = ended
+            ? competitionEntryRepository.findFinalRanking(competitionId, TOP_SIZE)
+            : competitionEntryRepository.findTopRanking(competitionId, TOP_SIZE);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        double cutoff = Double.NEGATIVE_INFINITY;
+        for (CompetitionEntryRepository.RankingRow row : ranking) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("rank", row.getRank().intValue());
+            item.put("spiritling_id", row.getSpiritlingId());
+            item.put("spiritling_name", row.getSpiritlingName());
+            item.put("score", row.getScore());
+            rows.add(Collections.unmodifiableMap(item));
+            cutoff = row.getScore();
+        }
+        return new CachedRanking(Collections.unmodifiableList(rows), cutoff, System.currentTimeMillis());
+    }
+    
+    private record CachedRanking(List<Map<String, Object>> rows, double cutoff, long loadedAt) {
+    }
+}
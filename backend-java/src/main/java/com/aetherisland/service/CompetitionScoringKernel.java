@@ -0,0 +1,177 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+
+/**
+ * 대회 종목별 점수 계산 (능력치 가중합)
+ * 참가 API의 정령 한 마리 점수와 자동 참가 대회의 SpiritlingColumns 일괄 점수를 같은 가중치·같은 연산 순서로 계산하므로
+ * 두 경로의 점수가 정확히 일치함
+ */
+public class CompetitionScoringKernel {
+    
+    /**
+     * 종목별 가중치 (능력치 순서: health, agility, intelligence, friendliness, resilience, luck)
+     * 가중합을 divisor로 나눈 값이 점수 (기본 종목은 6개 능력치 평균)
+     */
+    public enum Weights {
+        RACE("race", 0, 0.7, 0, 0, 0, 0.3, 1),
+        PUZZLE("puzzle", 0, 0, 0.8, 0, 0.2, 0, 1),
+        BATTLE("battle", 0.4, 0.3, 0, 0, 0.3, 0, 1),
+        FASHION("fashion", 0, 0, 0, 0.6, 0, 0.4, 1),
+        DEFAULT(null, 1, 1, 1, 1, 1, 1, 6);
+        
+        private final String type;
+        final double health;
+        final double agility;
+        final double intelligence;
+        final double friendliness;
+        final double resilience;
+        final double luck;
+        final double divisor;
+        
+        Weights(String type, double health, double agility, double intelligence, double friendliness,
+                double resilience, double luck, double divisor) {
+            this.type = type;
+            this.health = health;
+            this.agility = agility;
+            this.intelligence = intelligence;
+            this.friendliness = friendliness;
+            this.resilience = resilience;
+            this.luck = luck;
+            this.divisor = divisor;
+        }
+        
+        // 알 수 없는 종목은 능력치 평균
+        public static Weights of(String type) {
+            for (Weights candidate : values()) {
+                if (candidate.type != null && candidate.type.equals(type)) return candidate;
+            }
+            return DEFAULT;
+        }
+    }
+    
+    public double score(Spiritling spiritling, Weights w, double baseScore) {
+        double sum = w.health * valueOf(spiritling.getHealthStat())
+            + w.agility * valueOf(spiritling.getAgilityStat())
+            + w.intelligence * valueOf(spiritling.getIntelligenceStat())
+            + w.friendliness * valueOf(spiritling.getFriendlinessStat())
+            + w.resilience * valueOf(spiritling.getResilienceStat())
+            + w.luck * valueOf(spiritling.getLuckStat());
+        return sum / w.divisor + baseScore;
+    }
+    
+    /**
+     * [from, to) 범위 정령 점수를 out의 같은 slot에 기록
+     * 분기 없이 능력치 열 배열만 순차로 읽으므로 객체 접근·박싱이 없음
+     */
+    public void scoreAll(SpiritlingColumns c, int from, int to, Weights w, double baseScore, double[] out) {
+        short[] health = c.healthStat;
+        short[] agility = c.agilityStat;
+        short[] intelligence = c.intelligenceStat;
+        short[] friendliness = c.friendlinessStat;
+        short[] resilience = c.resilienceStat;
+        short[] luck = c.luckStat;
+        double wh = w.health;
+        double wa = w.agility;
+        double wi = w.intelligence;
+        double wf = w.friendliness;
+        double wr = w.resilience;
+        double wl = w.luck;
+        double divisor = w.divisor;
+        
+        for (int i = from; i < to; i++) {
+            double sum = wh * health[i] + wa * agility[i] + wi * intelligence[i]
+                + wf * friendliness[i] + wr * resilience[i] + wl * luck[i];
+            out[i] = sum / divisor + baseScore;
+        }
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    /**
+     * 점수 상위 k개만 유지하는 최소 힙 (루트가 현재 k등)
+     * 전체를 정렬하지 않고 O(n log k), 메모리는 k개만 사용. 같은 점수는 id가 작은 쪽이 상위
+     */
+    public static class TopScores {
+        private final String[] ids;
+        private final double[] scores;
+        private int size;
+        
+        public TopScores(int k) {
+            ids = new String[Math.max(k, 0)];
+            scores = new double[Math.max(k, 0)];
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public void offer(String id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && below(scores[0], ids[0], score, id)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0, size);
+            }
+        }
+        
+        /**
+         * 점수 내림차순으로 정렬 (힙 정렬, 이후 offer 불가)
+         */
+        public void sort() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+        
+        public String idAt(int index) {
+            return ids[index];
+        }
+        
+        public double scoreAt(int index) {
+            return scores[index];
+        }
+        
+        // (score, id)가 (otherScore, otherId)보다 하위인지
+        private static boolean below(double score, String id, double otherScore, String otherId) {
+            return score < otherScore || (score == otherScore && id.compareTo(otherId) > 0);
+        }
+        
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!below(scores[index], ids[index], scores[parent], ids[parent])) break;
+                swap(index, parent);
+                index = parent;
+            }
+        }
+        
+        private void siftDown(int index, int limit) {
+            while (true) {
+                int lowest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < limit && below(scores[left], ids[left], scores[lowest], ids[lowest])) lowest = left;
+                if (right < limit && below(scores[right], ids[right], scores[lowest], ids[lowest])) lowest = right;
+                if (lowest == index) return;
+                swap(index, lowest);
+                index = lowest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            String id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Friend;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 친구 관계 메모리 그래프
+ * 유저 id를 연속된 int로 바꾸고 유저마다 상대 번호 순으로 정렬된 int 배열(상대 번호 << 4 | 상태 비트)을 보관
+ * 두 유저의 관계는 이진 탐색으로 O(log d), 친구 목록은 배열 순회로 조회 (d: 그 유저의 관계 수)
+ * 시작 시 DB에서 적재하고 친구 요청·수락·거절·삭제 때마다 갱신
+ * 다른 노드에서 바뀐 관계는 friend.graph.rebuild-interval-ms마다 다시 적재해 반영
+ */
+@Service
+public class FriendGraphService {
+    public static final int PENDING = 1;
+    public static final int ACCEPTED = 1 << 1;
+    public static final int BLOCKED = 1 << 2;
+    // 이 유저가 요청을 보낸 쪽 (friends.user_id)
+    public static final int OUTGOING = 1 << 3;
+    
+    private static final int FLAG_BITS = 4;
+    private static final int FLAG_MASK = (1 << FLAG_BITS) - 1;
+    private static final int[] NO_EDGES = new int[0];
+    private static final String FRIENDS_SQL = "SELECT user_id, friend_id, status FROM friends";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final long rebuildIntervalMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "friend-graph-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // lock으로 보호 (다시 적재할 때 통째로 교체)
+    private Graph graph = new Graph();
+    // 다시 적재하는 동안 들어온 갱신 (lock으로 보호, 적재 중이 아니면 null)
+    private List<Consumer<Graph>> pendingUpdates;
+    
+    public FriendGraphService(
+        JdbcTemplate jdbcTemplate,
+        @Value("${friend.graph.rebuild-interval-ms:60000}") long rebuildIntervalMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        rebuild();
+        // 다른 노드에서 바뀐 관계를 주기적으로 보정 (0이면 시작 시에만 적재)
+        if (rebuildIntervalMillis > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuild, rebuildIntervalMillis, rebuildIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+    
+    /**
+     * DB의 모든 친구 관계를 다시 적재 (새 그래프를 잠금 밖에서 만든 뒤 교체)
+     * 적재 중에 들어온 갱신은 교체 직전에 새 그래프에 다시 반영
+     */
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Graph loaded = new Graph();
+            int[] rows = new int[1];
+            jdbcTemplate.query(FRIENDS_SQL, rs -> {
+                loaded.append(rs.getString("user_id"), rs.getString("friend_id"), statusBits(rs.getString("status")));
+                rows[0]++;
+            });
+            loaded.sortAll();
+            
+            lock.writeLock().lock();
+            try {
+                // 관계 갱신은 최종 상태를 덮어쓰므로 DB에서 읽은 것과 겹쳐도 그대로 다시 반영
+                pendingUpdates.forEach(update -> update.accept(loaded));
+                graph = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("✅ 친구 그래프 적재 완료: 유저 " + loaded.ids.size() + "명, 관계 " + rows[0] + "개 ("
+                + (System.currentTimeMillis() - startedAt) + "ms)");
+        } catch (Exception e) {
+            System.err.println("Error rebuilding friend graph: " + e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * 관계 저장(요청·수락) 반영
+     */
+    public void onSaved(Friend friend) {
+        String userId = friend.getUserId();
+        String friendId = friend.getFriendId();
+        int status = statusBits(friend.getStatus());
+        update(current -> {
+            int user = current.intern(userId);
+            int other = current.intern(friendId);
+            current.put(user, other, status | OUTGOING);
+            current.put(other, user, status);
+        });
+    }
+    
+    /**
+     * 관계 삭제(거절·친구 삭제) 반영
+     */
+    public void onDeleted(Friend friend) {
+        String userId = friend.getUserId();
+        String friendId = friend.getFriendId();
+        update(current -> {
+            Integer user = current.index.get(userId);
+            Integer other = current.index.get(friendId);
+            if (user != null && other != null) {
+                current.remove(user, other);
+                current.remove(other, user);
+            }
+        });
+    }
+    
+    /**
+     * 두 유저 사이의 관계 (방향 무관, 없으면 null)
+     */
+    public Relation relationOf(String userId, String otherId) {
+        lock.readLock().lock();
+        try {
+            Integer user = graph.index.get(userId);
+            Integer other = graph.index.get(otherId);
+            if (user == null || other == null) {
+                return null;
+            }
+            int flags = graph.flagsOf(user, other);
+            return flags != 0 ? new Relation(statusOf(flags), (flags & OUTGOING) != 0) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 상태가 statusMask(PENDING·ACCEPTED·BLOCKED 조합)에 해당하는 상대 유저 id
+     */
+    public List<String> neighborsOf(String userId, int statusMask) {
+        lock.readLock().lock();
+        try {
+            Integer user = graph.index.get(userId);
+            if (user == null) {
+                return List.of();
+            }
+            int[] edges = graph.edges.get(user);
+            List<String> result = new ArrayList<>(edges.length);
+            for (int edge : edges) {
+                if ((edge & statusMask) != 0) {
+                    result.add(graph.ids.get(edge >>> FLAG_BITS));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<String> friendIdsOf(String userId) {
+        return neighborsOf(userId, ACCEPTED);
+    }
+    
+    /**
+     * 친구의 친구 중 userId와 아무 관계가 없는 유저별 공통 친구 수 (2단계까지만 탐색)
+     * @param maxFanout 단계마다 따라갈 최대 친구 수 (친구가 많은 유저 때문에 탐색이 커지지 않도록)
+     */
+    public Map<String, Integer> mutualFriendCounts(String userId, int maxFanout) {
+        lock.readLock().lock();
+        try {
+            Integer user = graph.index.get(userId);
+            if (user == null) {
+                return Map.of();
+            }
+            Map<Integer, Integer> counts = new HashMap<>();
+            int followed = 0;
+            for (int edge : graph.edges.get(user)) {
+                if ((edge & ACCEPTED) == 0) continue;
+                if (followed++ == maxFanout) break;
+                
+                int followedSecond = 0;
+                for (int second : graph.edges.get(edge >>> FLAG_BITS)) {
+                    if ((second & ACCEPTED) == 0) continue;
+                    if (followedSecond++ == maxFanout) break;
+                    int candidate = second >>> FLAG_BITS;
+                    if (candidate != user && graph.flagsOf(user, candidate) == 0) {
+                        counts.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            
+            Map<String, Integer> result = new HashMap<>(counts.size() * 2);
+            counts.forEach((candidate, count) -> result.put(graph.ids.get(candidate), count));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void update(Consumer<Graph> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(graph);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static int statusBits(String status) {
+        if ("accepted".equals(status)) return ACCEPTED;
+        if ("blocked".equals(status)) return BLOCKED;
+        return PENDING;
+    }
+    
+    private static String statusOf(int flags) {
+        if ((flags & ACCEPTED) != 0) return "accepted";
+        if ((flags & BLOCKED) != 0) return "blocked";
+        return "pending";
+    }
+    
+    /**
+     * @param status pending, accepted, blocked
+     * @param outgoing 기준 유저가 요청을 보낸 쪽이면 true
+     */
+    public record Relation(String status, boolean outgoing) {
+    }
+    
+    private static class Graph {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        // 유저 번호별 간선 (상대 번호 오름차순, 적재 중에는 edgeCounts까지만 유효)
+        private final List<int[]> edges = new ArrayList<>();
+        private int[] edgeCounts = new int[16];
+        
+        int intern(String userId) {
+            Integer existing = index.get(userId);
+            if (existing != null) {
+                return existing;
+            }
+            int node = ids.size();
+            index.put(userId, node);
+            ids.add(userId);
+            edges.add(NO_EDGES);
+            return node;
+        }
+        
+        // 적재용: 정렬 없이 뒤에 추가 (sortAll에서 정리)
+        void append(String userId, String friendId, int status) {
+            int user = intern(userId);
+            int other = intern(friendId);
+            appendEdge(user, (other << FLAG_BITS) | status | OUTGOING);
+            appendEdge(other, (user << FLAG_BITS) | status);
+        }
+        
+        private void appendEdge(int node, int edge) {
+            if (node >= edgeCounts.length) {
+                edgeCounts = Arrays.copyOf(edgeCounts, Math.max(node + 1, edgeCounts.length * 2));
+            }
+            int[] current = edges.get(node);
+            int count = edgeCounts[node];
+            if (count == current.length) {
+                current = Arrays.copyOf(current, Math.max(4, count * 2));
+                edges.set(node, current);
+            }
+            current[count] = edge;
+            edgeCounts[node] = count + 1;
+        }
+        
+        // 적재 후 배열을 실제 크기로 자르고 정렬 (같은 쌍이 양방향 두 행으로 있으면 하나만 유지)
+        void sortAll() {
+            for (int node = 0; node < edges.size(); node++) {
+                int count = node < edgeCounts.length ? edgeCounts[node] : 0;
+                int[] sorted = Arrays.copyOf(edges.get(node), count);
+                Arrays.sort(sorted);
+                int unique = 0;
+                for (int i = 0; i < sorted.length; i++) {
+                    if (unique > 0 && sorted[unique - 1] >>> FLAG_BITS == sorted[i] >>> FLAG_BITS) {
+                        sorted[unique - 1] = sorted[i];
+                    } else {
+                        sorted[unique++] = sorted[i];
+                    }
+                }
+                edges.set(node, unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique));
+            }
+            edgeCounts = new int[0];
+        }
+        
+        int flagsOf(int node, int other) {
+            int[] current = edges.get(node);
+            int position = find(current, other);
+            return position >= 0 ? current[position] & FLAG_MASK : 0;
+        }
+        
+        void put(int node, int other, int flags) {
+            int[] current = edges.get(node);
+            int edge = (other << FLAG_BITS) | flags;
+            int position = find(current, other);
+            if (position >= 0) {
+                current[position] = edge;
+                return;
+            }
+            int insertAt = -position - 1;
+            int[] updated = new int[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, insertAt);
+            updated[insertAt] = edge;
+            System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+            edges.set(node, updated);
+        }
+        
+        void remove(int node, int other) {
+            int[] current = edges.get(node);
+            int position = find(current, other);
+            if (position < 0) {
+                return;
+            }
+            int[] updated = new int[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, position);
+            System.arraycopy(current, position + 1, updated, position, current.length - position - 1);
+            edges.set(node, updated);
+        }
+        
+        // 상대 번호의 위치 (없으면 -(삽입 위치) - 1)
+        private static int find(int[] edges, int other) {
+            int position = Arrays.binarySearch(edges, other << FLAG_BITS);
+            if (position >= 0) {
+                return position;
+            }
+            int insertAt = -position - 1;
+            if (insertAt < edges.length && edges[insertAt] >>> FLAG_BITS == other) {
+                return insertAt;
+            }
+            return position;
+        }
+    }
+}
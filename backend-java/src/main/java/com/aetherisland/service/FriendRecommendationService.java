@@ -0,0 +1,263 @@
+package com.aetherisland.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 친구 추천 후보 목록
+ * 친구의 친구(FriendGraphService 2단계 탐색)를 공통 친구 수, 같은 속성 정령 보유 수 순으로 정렬해 유저별 상위 top-size명을 보관
+ * 친구의 친구가 부족하면 정령 속성이 겹치는 유저, 그래도 부족하면 최근 가입한 유저로 채움
+ * 조회는 보관된 목록에서 limit명만 읽고, 관계가 바뀌면 관련 유저 목록을 비우거나 배경 작업에서 다시 계산
+ */
+@Service
+public class FriendRecommendationService {
+    private static final String ELEMENTS_SQL =
+        "SELECT DISTINCT user_id, element FROM spiritlings WHERE element IS NOT NULL AND user_id = ANY (?)";
+    private static final String SAME_ELEMENT_USERS_SQL =
+        "SELECT user_id FROM spiritlings WHERE element = ANY (?) AND user_id <> ? " +
+        "GROUP BY user_id ORDER BY COUNT(DISTINCT element) DESC, MAX(created_at) DESC LIMIT ?";
+    private static final String RECENT_USERS_SQL =
+        "SELECT id FROM users WHERE id <> ? ORDER BY created_at DESC LIMIT ?";
+    
+    private final FriendGraphService friendGraph;
+    private final JdbcTemplate jdbcTemplate;
+    private final int topSize;
+    private final int maxFanout;
+    private final int maxCandidates;
+    private final long ttlMillis;
+    private final long idleMillis;
+    private final ConcurrentHashMap<String, CachedCandidates> cache = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "friend-recommendation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public FriendRecommendationService(
+        FriendGraphService friendGraph,
+        JdbcTemplate jdbcTemplate,
+        @Value("${friend.recommendation.top-size:20}") int topSize,
+        @Value("${friend.recommendation.max-fanout:200}") int maxFanout,
+        @Value("${friend.recommendation.max-candidates:500}") int maxCandidates,
+        @Value("${friend.recommendation.ttl-ms:600000}") long ttlMillis
+    ) {
+        this.friendGraph = friendGraph;
+        this.jdbcTemplate = jdbcTemplate;
+        this.topSize = Math.max(topSize, 1);
+        this.maxFanout = Math.max(maxFanout, 1);
+        this.maxCandidates = Math.max(maxCandidates, this.topSize);
+        this.ttlMillis = ttlMillis;
+        // 오래 조회하지 않은 유저 목록은 메모리에서 제거
+        this.idleMillis = ttlMillis * 3;
+    }
+    
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(ttlMillis / 2, 1000);
+        refresher.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    /**
+     * 추천 후보 limit명 (최대 top-size명, 그사이 관계가 생긴 유저는 제외)
+     */
+    public List<Candidate> recommend(String userId, int limit) {
+        long now = System.currentTimeMillis();
+        CachedCandidates cached = cache.get(userId);
+        if (cached == null) {
+            // compute는 같은 키에 대해 직렬화되므로 동시에 조회해도 한 번만 계산
+            cached = cache.compute(userId, (id, current) -> current != null ? current : load(id));
+        }
+        cached.lastReadAt = now;
+        
+        List<Candidate> result = new ArrayList<>(Math.min(limit, cached.candidates.size()));
+        for (Candidate candidate : cached.candidates) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (friendGraph.relationOf(userId, candidate.userId()) == null) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 두 유저 사이 관계가 바뀌면 두 유저 목록은 비우고, 두 유저의 친구 목록은 다음 배경 작업에서 다시 계산
+     */
+    public void onRelationChanged(String userId, String otherId) {
+        cache.remove(userId);
+        cache.remove(otherId);
+        markStale(friendGraph.friendIdsOf(userId));
+        markStale(friendGraph.friendIdsOf(otherId));
+    }
+    
+    /**
+     * 정령 생성 반영 (정령 속성이 바뀌므로 이 유저 목록은 비움)
+     */
+    public void onSpiritlingCreated(String userId) {
+        cache.remove(userId);
+    }
+    
+    private void markStale(Collection<String> userIds) {
+        for (String userId : userIds) {
+            CachedCandidates cached = cache.get(userId);
+            if (cached != null) {
+                cached.loadedAt = 0;
+            }
+        }
+    }
+    
+    private void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            int refreshed = 0;
+            for (Map.Entry<String, CachedCandidates> entry : cache.entrySet()) {
+                CachedCandidates cached = entry.getValue();
+                if (now - cached.lastReadAt > idleMillis) {
+                    cache.remove(entry.getKey(), cached);
+                } else if (now - cached.loadedAt > ttlMillis) {
+                    CachedCandidates loaded = load(entry.getKey());
+                    loaded.lastReadAt = cached.lastReadAt;
+                    cache.replace(entry.getKey(), cached, loaded);
+                    refreshed++;
+                }
+            }
+            if (refreshed > 0) {
+                System.out.println("✅ 친구 추천 목록 갱신: " + refreshed + "명");
+            }
+        } catch (Exception e) {
+            System.err.println("Error refreshing friend recommendations: " + e.getMessage());
+        }
+    }
+    
+    private CachedCandidates load(String userId) {
+        Map<String, Integer> mutual = friendGraph.mutualFriendCounts(userId, maxFanout);
+        // 공통 친구 수 상위 max-candidates명만 정령 속성을 비교
+        List<String> candidateIds = mutual.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry::getKey))
+            .limit(maxCandidates)
+            .map(Map.Entry::getKey)
+            .toList();
+        
+        Set<String> queried = new HashSet<>(candidateIds);
+        queried.add(userId);
+        Map<String, Set<String>> elements = loadElements(queried);
+        Set<String> myElements = elements.getOrDefault(userId, Set.of());
+        
+        // 친구의 친구가 부족하면 정령 속성이 겹치는 유저, 그래도 부족하면 최근 가입한 유저로 채움
+        // (친구도 정령도 없는 새 유저도 빈 목록을 받지 않도록)
+        if (candidateIds.size() < topSize) {
+            List<String> filled = new ArrayList<>(candidateIds);
+            if (!myElements.isEmpty()) {
+                fill(userId, sameElementUsers(userId, myElements, topSize * 2), filled, queried);
+            }
+            if (filled.size() < topSize) {
+                fill(userId, recentUsers(userId, topSize * 2), filled, queried);
+            }
+            if (filled.size() > candidateIds.size()) {
+                if (!myElements.isEmpty()) {
+                    elements.putAll(loadElements(filled.subList(candidateIds.size(), filled.size())));
+                }
+                candidateIds = filled;
+            }
+        }
+        
+        List<Candidate> candidates = new ArrayList<>(candidateIds.size());
+        for (String candidateId : candidateIds) {
+            int shared = 0;
+            for (String element : elements.getOrDefault(candidateId, Set.of())) {
+                if (myElements.contains(element)) {
+                    shared++;
+                }
+            }
+            candidates.add(new Candidate(candidateId, mutual.getOrDefault(candidateId, 0), shared));
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::mutualFriends).reversed()
+            .thenComparing(Comparator.comparingInt(Candidate::sharedElements).reversed())
+            .thenComparing(Candidate::userId));
+        List<Candidate> top = List.copyOf(candidates.subList(0, Math.min(topSize, candidates.size())));
+        return new CachedCandidates(top, System.currentTimeMillis());
+    }
+    
+    // 아직 후보가 아니고 관계도 없는 유저를 top-size명까지 추가
+    private void fill(String userId, List<String> others, List<String> filled, Set<String> queried) {
+        for (String other : others) {
+            if (filled.size() >= topSize) {
+                return;
+            }
+            if (!queried.contains(other) && friendGraph.relationOf(userId, other) == null) {
+                filled.add(other);
+                queried.add(other);
+            }
+        }
+    }
+    
+    private Map<String, Set<String>> loadElements(Collection<String> userIds) {
+        Map<String, Set<String>> elements = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return elements;
+        }
+        String[] ids = userIds.toArray(new String[0]);
+        jdbcTemplate.query(ELEMENTS_SQL,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", ids)),
+            rs -> {
+                elements.computeIfAbsent(rs.getString("user_id"), id -> new HashSet<>()).add(rs.getString("element"));
+            });
+        return elements;
+    }
+    
+    private List<String> sameElementUsers(String userId, Set<String> myElements, int limit) {
+        String[] values = myElements.toArray(new String[0]);
+        return jdbcTemplate.query(SAME_ELEMENT_USERS_SQL,
+            ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", values));
+                ps.setString(2, userId);
+                ps.setInt(3, limit);
+            },
+            (rs, rowNum) -> rs.getString("user_id"));
+    }
+    
+    private List<String> recentUsers(String userId, int limit) {
+        return jdbcTemplate.query(RECENT_USERS_SQL, (rs, rowNum) -> rs.getString("id"), userId, limit);
+    }
+    
+    /**
+     * @param mutualFriends 공통 친구 수
+     * @param sharedElements 두 유저가 모두 가진 정령 속성 수
+     */
+    public record Candidate(String userId, int mutualFriends, int sharedElements) {
+    }
+    
+    private static class CachedCandidates {
+        private final List<Candidate> candidates;
+        private volatile long loadedAt;
+        private volatile long lastReadAt;
+        
+        CachedCandidates(List<Candidate> candidates, long loadedAt) {
+            this.candidates = candidates;
+            this.loadedAt = loadedAt;
+            this.lastReadAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.aetherisland.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 순위 조회가 가능한 스킵 리스트 (점수 내림차순, 같은 점수는 userId 오름차순)
+ * 각 링크에 건너뛰는 노드 수(span)를 저장해 순위 조회·갱신은 O(log n), 상위 k개 조회는 O(log n + k)
+ * 스레드 안전하지 않으므로 호출한 쪽에서 잠금 처리
+ */
+public class LeaderboardIndex {
+    private static final int MAX_LEVEL = 32;
+    
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Node[] update = new Node[MAX_LEVEL];
+    private final int[] passed = new int[MAX_LEVEL];
+    private final SplittableRandom random = new SplittableRandom();
+    private int level = 1;
+    
+    public record Entry(String userId, double score, int rank) {
+    }
+    
+    public int size() {
+        return nodes.size();
+    }
+    
+    public double score(String userId) {
+        Node node = nodes.get(userId);
+        return node != null ? node.score : 0.0;
+    }
+    
+    /**
+     * 점수 등록 또는 변경
+     */
+    public void put(String userId, double score) {
+        Node existing = nodes.get(userId);
+        if (existing != null) {
+            if (existing.score == score) {
+                return;
+            }
+            remove(userId);
+        }
+        insert(userId, score);
+    }
+    
+    public void remove(String userId) {
+        Node node = nodes.remove(userId);
+        if (node == null) {
+            return;
+        }
+        
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], node.score, node.userId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+    
+    /**
+     * @return 1부터 시작하는 순위 (없으면 0)
+     */
+    public int rank(String userId) {
+        Node node = nodes.get(userId);
+        if (node == null) {
+            return 0;
+        }
+        
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (x.next[i] == node || precedes(x.next[i], node.score, node.userId))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == node) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * offset번째(0부터)부터 최대 limit개를 순위 순서로 반환
+     */
+    public List<Entry> range(int offset, int limit) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        if (offset < 0 || limit <= 0 || offset >= size()) {
+            return entries;
+        }
+        
+        // span을 따라 offset+1번째 노드로 이동
+        int target = offset + 1;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == target) {
+                break;
+            }
+        }
+        
+        collect(x, target, limit, entries);
+        return entries;
+    }
+    
+    /**
+     * (score, userId) 바로 다음 순위부터 최대 limit개 반환 (커서 페이지 조회, 커서 항목이 없어져도 위치는 유지)
+     */
+    public List<Entry> rangeAfter(double score, String userId, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        if (limit <= 0) {
+            return entries;
+        }
+        
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && !precedes(score, userId, x.next[i])) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        collect(x.next[0], rank + 1, limit, entries);
+        return entries;
+    }
+    
+    private void insert(String userId, double score) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            passed[i] = i == level - 1 ? 0 : passed[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], score, userId)) {
+                passed[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                passed[i] = 0;
+                update[i] = head;
+                update[i].span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+        
+        Node node = new Node(userId, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (passed[0] - passed[i]);
+            update[i].span[i] = passed[0] - passed[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        nodes.put(userId, node);
+    }
+    
+    private static void collect(Node from, int rank, int limit, List<Entry> entries) {
+        Node x = from;
+        while (x != null && entries.size() < limit) {
+            entries.add(new Entry(x.userId, x.score, rank++));
+            x = x.next[0];
+        }
+    }
+    
+    // (score, userId)가 node보다 앞 순위인지
+    private static boolean precedes(double score, String userId, Node node) {
+        int byScore = Double.compare(score, node.score);
+        return byScore > 0 || (byScore == 0 && userId.compareTo(node.userId) < 0);
+    }
+    
+    // node가 (score, userId)보다 앞 순위인지
+    private static boolean precedes(Node node, double score, String userId) {
+        int byScore = Double.compare(node.score, score);
+        return byScore > 0 || (byScore == 0 && node.userId.compareTo(userId) < 0);
+    }
+    
+    private int randomLevel() {
+        // 레벨마다 1/4 확률로 승격
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+    
+    private static final class Node {
+        private final String userId;
+        private final double score;
+        private final Node[] next;
+        private final int[] span;
+        
+        private Node(String userId, double score, int level) {
+            this.userId = userId;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,671 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.entity.User;
+import com.aetherisland.exception.ApiException;
+import com.aetherisland.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 랭킹 카테고리·기간별 메모리 순위 인덱스
+ * 시작 시 DB에서 한 번 적재한 뒤 코인·레벨·정령 수가 바뀔 때마다 점진적으로 갱신
+ * 내 순위 조회는 O(log n), 상위 k명 조회는 O(log n + k)
+ * 진행 중인 daily·weekly·monthly 점수는 기간 시작 시점 점수(all_time 스냅샷) 대비 증가분
+ * 시작 스냅샷이 없는 기간은 전체 점수와 같아지므로 순위를 두지 않고(데이터 없음), 스냅샷이 기록되면 기준을 다시 읽음
+ * 점수는 DB에 기록된 정령 상태 기준 (lazy 모드에서는 이벤트가 처리되어 기록될 때 반영)
+ * leaderboard.source=sql이면 인덱스를 두지 않고 매 조회마다 집계 쿼리(UserRepository)로 계산
+ */
+@Service
+public class LeaderboardService {
+    public static final List<String> CATEGORIES = List.of("overall", "level", "coins", "spiritlings");
+    
+    private static final String USERS_SQL = "SELECT id, username, coins FROM users";
+    private static final String SPIRITLINGS_SQL =
+        "SELECT id, user_id, COALESCE(level, 0) AS level, " +
+        "COALESCE(health_stat, 0) + COALESCE(agility_stat, 0) + COALESCE(intelligence_stat, 0) + " +
+        "COALESCE(friendliness_stat, 0) + COALESCE(resilience_stat, 0) + COALESCE(luck_stat, 0) AS stat_total " +
+        "FROM spiritlings";
+    private static final String BASELINE_SQL =
+        "SELECT user_id, category, score FROM rankings WHERE period = 'all_time' AND period_end = ?";
+    private static final String BASELINE_EXISTS_SQL =
+        "SELECT COUNT(*) FROM rankings WHERE period = 'all_time' AND period_end = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final boolean sqlSource;
+    private final long rebuildIntervalMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // lock으로 보호 (다시 적재할 때 통째로 교체)
+    private State state = new State(LocalDateTime.now());
+    // 다시 적재하는 동안 들어온 점진 갱신 (lock으로 보호, 적재 중이 아니면 null)
+    // 코인은 증감분이라 DB 읽기와 겹치면 두 번 반영될 수 있으므로 유저 id만 모았다가 DB에서 다시 읽음
+    private List<Consumer<State>> pendingUpdates;
+    private Set<String> pendingCoins;
+    
+    public LeaderboardService(
+        JdbcTemplate jdbcTemplate,
+        UserRepository userRepository,
+        @Value("${leaderboard.source:index}") String source,
+        @Value("${leaderboard.rebuild-interval-ms:0}") long rebuildIntervalMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.sqlSource = "sql".equals(source);
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (sqlSource) {
+            return;
+        }
+        rebuild();
+        // 다른 노드에서 바뀐 점수 등 점진 갱신으로 잡지 못한 차이를 주기적으로 보정 (0이면 시작 시에만 적재)
+        if (rebuildIntervalMillis > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuild, rebuildIntervalMillis, rebuildIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * DB에서 모든 유저·정령 점수와 진행 중인 기간의 기준 점수를 다시 적재
+     * 새 인덱스를 잠금 밖에서 만든 뒤 교체하므로 적재 중에도 조회는 계속 가능
+     * 적재 중에 들어온 점진 갱신은 모아 두었다가 교체 직전에 새 인덱스에 다시 반영
+     */
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+            pendingCoins = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            State loaded = new State(LocalDateTime.now());
+            jdbcTemplate.query(USERS_SQL, rs -> {
+                UserScore user = new UserScore(rs.getString("username"));
+                user.coins = rs.getLong("coins");
+                loaded.users.put(rs.getString("id"), user);
+            });
+            
+            jdbcTemplate.query(SPIRITLINGS_SQL, rs -> {
+                SpiritlingScore spiritling = new SpiritlingScore(rs.getString("user_id"),
+                    rs.getInt("level"), rs.getInt("stat_total"));
+                UserScore user = loaded.users.get(spiritling.userId);
+                if (user == null) {
+                    return;
+                }
+                loaded.spiritlings.put(rs.getString("id"), spiritling);
+                user.add(spiritling);
+            });
+            
+            // 같은 날 시작한 기간(예: 1일이 월요일)은 같은 스냅샷을 공유
+            Map<LocalDateTime, Map<String, double[]>> snapshots = new HashMap<>();
+            loaded.starts.forEach((period, start) -> {
+                Map<String, double[]> baseline = snapshots.computeIfAbsent(start, this::loadBaseline);
+                if (baseline != null) {
+                    loaded.baselines.put(period, baseline);
+                    loaded.missing.remove(period);
+                }
+            });
+            loaded.users.forEach(loaded::index);
+            
+            // 모아 둔 갱신을 반영하는 동안 또 들어온 갱신이 없을 때 교체
+            while (true) {
+                List<Consumer<State>> updates;
+                Set<String> coins;
+                lock.writeLock().lock();
+                try {
+                    if (pendingUpdates.isEmpty() && pendingCoins.isEmpty()) {
+                        state = loaded;
+                        break;
+                    }
+                    updates = pendingUpdates;
+                    coins = pendingCoins;
+                    pendingUpdates = new ArrayList<>();
+                    pendingCoins = new HashSet<>();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                updates.forEach(update -> update.accept(loaded));
+                reloadCoins(loaded, coins);
+            }
+            System.out.println("✅ 랭킹 인덱스 적재 완료: 유저 " + loaded.users.size() + "명, 정령 "
+                + loaded.spiritlings.size() + "개 (" + (System.currentTimeMillis() - startedAt) + "ms)");
+        } catch (Exception e) {
+            System.err.println("Error rebuilding leaderboard: " + e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingUpdates = null;
+                pendingCoins = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * 기간이 바뀌었으면 현재 점수를 새 기간의 기준으로 삼아 기간 점수를 0부터 다시 시작
+     * 시작 스냅샷이 없던 기간은 스냅샷이 새로 기록되었는지 확인해 기준을 다시 읽음
+     * RankingSnapshotService가 스냅샷을 확인·기록한 뒤 호출
+     */
+    public void rollPeriods(LocalDateTime now) {
+        if (sqlSource) {
+            return;
+        }
+        update(current -> current.roll(now));
+        
+        Map<RankingPeriod, LocalDateTime> missing = new EnumMap<>(RankingPeriod.class);
+        lock.readLock().lock();
+        try {
+            state.missing.forEach(period -> missing.put(period, state.starts.get(period)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        missing.forEach((period, start) -> {
+            Map<String, double[]> baseline = loadBaseline(start);
+            if (baseline != null) {
+                update(current -> current.setBaseline(period, start, baseline));
+            }
+        });
+    }
+    
+    /**
+     * 진행 중인 기간에 순위가 있는지 (시작 스냅샷이 없으면 false)
+     */
+    public boolean hasData(RankingPeriod period) {
+        if (period == RankingPeriod.ALL_TIME) {
+            return true;
+        }
+        if (sqlSource) {
+            return baselineExists(period.startOf(LocalDateTime.now()));
+        }
+        lock.readLock().lock();
+        try {
+            return !state.missing.contains(period);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 진행 중인 기간의 상위 순위 조회
+     * @param offset 건너뛸 인원 (0부터)
+     */
+    public List<RankedUser> top(String category, RankingPeriod period, int offset, int limit) {
+        checkCategory(category);
+        if (sqlSource) {
+            List<UserRepository.RankingScore> scores = period == RankingPeriod.ALL_TIME
+                ? userRepository.findTopRankingScores(category, offset + limit)
+                : userRepository.findTopPeriodRankingScores(category, period.startOf(LocalDateTime.now()),
+                    offset + limit);
+            return scores.stream()
+                .skip(offset)
+                .map(LeaderboardService::toRankedUser)
+                .toList();
+        }
+        lock.readLock().lock();
+        try {
+            return toRankedUsers(state.indexOf(period, category).range(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 커서 다음 순위부터 limit명 조회 (커서 항목 위치를 O(log n)에 찾아 이어서 읽음)
+     */
+    public List<RankedUser> after(String category, RankingPeriod period, Cursor cursor, int limit) {
+        checkCategory(category);
+        if (sqlSource) {
+            return (period == RankingPeriod.ALL_TIME
+                ? userRepository.findRankingScoresAfter(category, cursor.score(), cursor.userId(), limit)
+                : userRepository.findPeriodRankingScoresAfter(category, period.startOf(LocalDateTime.now()),
+                    cursor.score(), cursor.userId(), limit))
+                .stream()
+                .map(LeaderboardService::toRankedUser)
+                .toList();
+        }
+        lock.readLock().lock();
+        try {
+            return toRankedUsers(state.indexOf(period, category).rangeAfter(cursor.score(), cursor.userId(), limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 유저 앞뒤로 k명씩 조회 (인덱스에 없는 유저면 빈 목록)
+     */
+    public List<RankedUser> around(String category, RankingPeriod period, String userId, int k) {
+        checkCategory(category);
+        if (sqlSource) {
+            return (period == RankingPeriod.ALL_TIME
+                ? userRepository.findRankingScoresAround(category, userId, k)
+                : userRepository.findPeriodRankingScoresAround(category, period.startOf(LocalDateTime.now()), userId, k))
+                .stream()
+                .map(LeaderboardService::toRankedUser)
+                .toList();
+        }
+        lock.readLock().lock();
+        try {
+            LeaderboardIndex index = state.indexOf(period, category);
+            int rank = index.rank(userId);
+            if (rank == 0) {
+                return List.of();
+            }
+            int offset = Math.max(0, rank - 1 - k);
+            return toRankedUsers(index.range(offset, rank + k - offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 진행 중인 기간에서 유저 한 명의 순위 조회
+     * @return 인덱스에 없는 유저면 null
+     */
+    public RankedUser rankOf(String category, RankingPeriod period, String userId) {
+        checkCategory(category);
+        if (sqlSource) {
+            return (period == RankingPeriod.ALL_TIME
+                ? userRepository.findRankingScore(category, userId)
+                : userRepository.findPeriodRankingScore(category, period.startOf(LocalDateTime.now()), userId))
+                .map(LeaderboardService::toRankedUser)
+                .orElse(null);
+        }
+        lock.readLock().lock();
+        try {
+            LeaderboardIndex index = state.indexOf(period, category);
+            int rank = index.rank(userId);
+            if (rank == 0) {
+                return null;
+            }
+            return new RankedUser(userId, state.users.get(userId).username, index.score(userId), rank);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size(String category) {
+        checkCategory(category);
+        if (sqlSource) {
+            return (int) userRepository.count();
+        }
+        lock.readLock().lock();
+        try {
+            return state.indexOf(RankingPeriod.ALL_TIME, category).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void onUserCreated(User user) {
+        if (sqlSource) {
+            return;
+        }
+        String userId = user.getId();
+        String username = user.getUsername();
+        long coins = user.getCoins() != null ? user.getCoins() : 0;
+        update(current -> {
+            UserScore score = current.users.computeIfAbsent(userId, id -> new UserScore(username));
+            score.coins = coins;
+            current.index(userId, score);
+        });
+    }
+    
+    /**
+     * 코인 증감 반영 (DB에 반영된 뒤 호출)
+     */
+    public void addCoins(String userId, long amount) {
+        if (sqlSource || amount == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingCoins != null) {
+                pendingCoins.add(userId);
+            }
+            UserScore user = state.users.get(userId);
+            if (user == null) {
+                return;
+            }
+            user.coins += amount;
+            state.index(userId, user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void onSpiritlingChanged(Spiritling spiritling) {
+        if (sqlSource) {
+            return;
+        }
+        SpiritlingUpdate changed = SpiritlingUpdate.of(spiritling);
+        update(changed::applyTo);
+    }
+    
+    public void onSpiritlingsChanged(Collection<Spiritling> changed) {
+        if (sqlSource || changed.isEmpty()) {
+            return;
+        }
+        List<SpiritlingUpdate> updates = changed.stream().map(SpiritlingUpdate::of).toList();
+        update(current -> updates.forEach(changedSpiritling -> changedSpiritling.applyTo(current)));
+    }
+    
+    /**
+     * 정령 레벨·스탯 변경 반영 (columnar 모드처럼 엔티티가 없는 경우)
+     * @param statTotal 여섯 능력치의 합
+     */
+    public void onSpiritlingChanged(String spiritlingId, String userId, int level, int statTotal) {
+        if (sqlSource) {
+            return;
+        }
+        update(current -> current.applySpiritling(spiritlingId, userId, level, statTotal));
+    }
+    
+    /**
+     * 인덱스 상태 (health check용)
+     */
+    public Map<String, Object> getStatus() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("source", sqlSource ? "sql" : "index");
+            status.put("users", state.users.size());
+            status.put("spiritlings", state.spiritlings.size());
+            return status;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+    
+    /**
+     * 현재 인덱스에 반영하고, 다시 적재하는 중이면 새 인덱스에도 반영하도록 모아 둠
+     */
+    private void update(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // 적재 중에 코인이 바뀐 유저의 코인을 DB에서 다시 읽어 loaded에 반영 (커밋된 뒤 호출된 갱신이므로 DB 값이 최신)
+    private void reloadCoins(State loaded, Set<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(userIds);
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query("SELECT id, coins FROM users WHERE id IN (" + placeholders + ")", rs -> {
+            UserScore user = loaded.users.get(rs.getString("id"));
+            if (user != null) {
+                user.coins = rs.getLong("coins");
+                loaded.index(rs.getString("id"), user);
+            }
+        }, ids.toArray());
+    }
+    
+    // lock을 잡은 상태에서 호출
+    private List<RankedUser> toRankedUsers(List<LeaderboardIndex.Entry> entries) {
+        List<RankedUser> ranked = new ArrayList<>(entries.size());
+        for (LeaderboardIndex.Entry entry : entries) {
+            UserScore user = state.users.get(entry.userId());
+            ranked.add(new RankedUser(entry.userId(), user != null ? user.username : "", entry.score(), entry.rank()));
+        }
+        return ranked;
+    }
+    
+    // at 시점 all_time 스냅샷 (유저 id → CATEGORIES 순서의 점수, 스냅샷이 없으면 null)
+    private Map<String, double[]> loadBaseline(LocalDateTime at) {
+        if (!baselineExists(at)) {
+            return null;
+        }
+        Map<String, double[]> baseline = new HashMap<>();
+        jdbcTemplate.query(BASELINE_SQL, rs -> {
+            int category = CATEGORIES.indexOf(rs.getString("category"));
+            if (category >= 0) {
+                baseline.computeIfAbsent(rs.getString("user_id"), id -> new double[CATEGORIES.size()])[category] =
+                    rs.getInt("score");
+            }
+        }, at);
+        return baseline;
+    }
+    
+    private boolean baselineExists(LocalDateTime at) {
+        Integer count = jdbcTemplate.queryForObject(BASELINE_EXISTS_SQL, Integer.class, at);
+        return count != null && count > 0;
+    }
+    
+    public static void checkCategory(String category) {
+        if (!CATEGORIES.contains(category)) {
+            throw new ApiException("잘못된 랭킹 카테고리입니다: " + category, HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    private static RankedUser toRankedUser(UserRepository.RankingScore score) {
+        return new RankedUser(score.getUserId(), score.getUsername(),
+            score.getScore() != null ? score.getScore() : 0.0, score.getRank().intValue());
+    }
+    
+    private static Map<String, LeaderboardIndex> emptyIndexes() {
+        Map<String, LeaderboardIndex> indexes = new HashMap<>();
+        for (String category : CATEGORIES) {
+            indexes.put(category, new LeaderboardIndex());
+        }
+        return indexes;
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    public record RankedUser(String userId, String username, double score, int rank) {
+        public Cursor cursor() {
+            return new Cursor(score, userId);
+        }
+    }
+    
+    /**
+     * 페이지 커서 (마지막으로 받은 항목의 점수와 유저 id, 응답에는 base64url 문자열로 전달)
+     */
+    public record Cursor(double score, String userId) {
+        public static Cursor decode(String value) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                return new Cursor(Double.parseDouble(decoded.substring(0, separator)), decoded.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new ApiException("잘못된 커서입니다", HttpStatus.BAD_REQUEST);
+            }
+        }
+        
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((score + ":" + userId).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    private static final class State {
+        private final Map<RankingPeriod, Map<String, LeaderboardIndex>> indexes = new EnumMap<>(RankingPeriod.class);
+        // 진행 중인 기간별 시작 시각과 기준 점수 (all_time 제외, 기준이 없는 유저는 0)
+        private final Map<RankingPeriod, LocalDateTime> starts = new EnumMap<>(RankingPeriod.class);
+        private final Map<RankingPeriod, Map<String, double[]>> baselines = new EnumMap<>(RankingPeriod.class);
+        // 시작 스냅샷이 없어 순위를 두지 않는 기간
+        private final Set<RankingPeriod> missing = EnumSet.noneOf(RankingPeriod.class);
+        private final Map<String, UserScore> users = new HashMap<>();
+        private final Map<String, SpiritlingScore> spiritlings = new HashMap<>();
+        
+        private State(LocalDateTime now) {
+            for (RankingPeriod period : RankingPeriod.values()) {
+                indexes.put(period, emptyIndexes());
+                if (period != RankingPeriod.ALL_TIME) {
+                    starts.put(period, period.startOf(now));
+                    baselines.put(period, new HashMap<>());
+                    missing.add(period);
+                }
+            }
+        }
+        
+        private LeaderboardIndex indexOf(RankingPeriod period, String category) {
+            return indexes.get(period).get(category);
+        }
+        
+        private void index(String userId, UserScore user) {
+            double[] scores = user.scores();
+            indexes.forEach((period, categories) -> {
+                if (missing.contains(period)) {
+                    return;
+                }
+                double[] baseline = period == RankingPeriod.ALL_TIME ? null : baselines.get(period).get(userId);
+                for (int i = 0; i < scores.length; i++) {
+                    categories.get(CATEGORIES.get(i)).put(userId, baseline != null ? scores[i] - baseline[i] : scores[i]);
+                }
+            });
+        }
+        
+        private void roll(LocalDateTime now) {
+            for (Map.Entry<RankingPeriod, LocalDateTime> entry : starts.entrySet()) {
+                RankingPeriod period = entry.getKey();
+                LocalDateTime start = period.startOf(now);
+                if (start.equals(entry.getValue())) {
+                    continue;
+                }
+                entry.setValue(start);
+                
+                Map<String, double[]> baseline = new HashMap<>();
+                Map<String, LeaderboardIndex> categories = emptyIndexes();
+                users.forEach((userId, user) -> {
+                    baseline.put(userId, user.scores());
+                    for (String category : CATEGORIES) {
+                        categories.get(category).put(userId, 0.0);
+                    }
+                });
+                baselines.put(period, baseline);
+                indexes.put(period, categories);
+                missing.remove(period);
+            }
+        }
+        
+        // 시작 스냅샷이 뒤늦게 기록된 기간의 기준을 채우고 순위를 다시 만듦
+        private void setBaseline(RankingPeriod period, LocalDateTime start, Map<String, double[]> baseline) {
+            if (!missing.contains(period) || !start.equals(starts.get(period))) {
+                return;
+            }
+            missing.remove(period);
+            baselines.put(period, baseline);
+            indexes.put(period, emptyIndexes());
+            users.forEach(this::index);
+        }
+        
+        private void applySpiritling(String spiritlingId, String userId, int level, int statTotal) {
+            UserScore user = users.get(userId);
+            if (user == null) {
+                return;
+            }
+            
+            SpiritlingScore previous = spiritlings.get(spiritlingId);
+            if (previous != null) {
+                if (previous.level == level && previous.statTotal == statTotal) {
+                    return;
+                }
+                user.remove(previous);
+            }
+            SpiritlingScore current = new SpiritlingScore(userId, level, statTotal);
+            spiritlings.put(spiritlingId, current);
+            user.add(current);
+            index(userId, user);
+        }
+    }
+    
+    private static final class UserScore {
+        private final String username;
+        private long coins;
+        private int spiritlings;
+        private long totalLevel;
+        private long totalStats;
+        private int maxLevel;
+        
+        private UserScore(String username) {
+            this.username = username;
+        }
+        
+        // CATEGORIES 순서의 점수
+        private double[] scores() {
+            return new double[] { totalLevel * 10.0 + totalStats + coins, maxLevel, coins, spiritlings };
+        }
+        
+        private void add(SpiritlingScore spiritling) {
+            spiritlings++;
+            totalLevel += spiritling.level;
+            totalStats += spiritling.statTotal;
+            // 레벨은 내려가지 않으므로 최댓값만 유지
+            maxLevel = Math.max(maxLevel, spiritling.level);
+        }
+        
+        private void remove(SpiritlingScore spiritling) {
+            spiritlings--;
+            totalLevel -= spiritling.level;
+            totalStats -= spiritling.statTotal;
+        }
+    }
+    
+    private record SpiritlingScore(String userId, int level, int statTotal) {
+    }
+    
+    // 호출 시점의 정령 점수 (적재 중이면 나중에 새 인덱스에 다시 반영되므로 엔티티 대신 값을 보관)
+    private record SpiritlingUpdate(String spiritlingId, String userId, int level, int statTotal) {
+        private static SpiritlingUpdate of(Spiritling s) {
+            int statTotal = valueOf(s.getHealthStat()) + valueOf(s.getAgilityStat()) + valueOf(s.getIntelligenceStat())
+                + valueOf(s.getFriendlinessStat()) + valueOf(s.getResilienceStat()) + valueOf(s.getLuckStat());
+            return new SpiritlingUpdate(s.getId(), s.getUserId(), valueOf(s.getLevel()), statTotal);
+        }
+        
+        private void applyTo(State state) {
+            state.applySpiritling(spiritlingId, userId, level, statTotal);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.aetherisland.service;
+
+import com.aetherisland.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 랭킹 기간 (서버 로컬 시간 기준, 주간은 월요일 시작)
+ * daily·weekly·monthly 점수는 기간 시작 시점의 전체 점수 대비 증가분, all_time은 전체 점수
+ */
+public enum RankingPeriod {
+    DAILY("daily"), WEEKLY("weekly"), MONTHLY("monthly"), ALL_TIME("all_time");
+    
+    private final String value;
+    
+    RankingPeriod(String value) { this.value = value; }
+    
+    public String value() { return value; }
+    
+    public static RankingPeriod of(String value) {
+        for (RankingPeriod candidate : values()) {
+            if (candidate.value.equals(value)) return candidate;
+        }
+        throw new ApiException("잘못된 랭킹 기간입니다: " + value, HttpStatus.BAD_REQUEST);
+    }
+    
+    /**
+     * time이 속한 기간의 시작 시각 (all_time은 null)
+     */
+    public LocalDateTime startOf(LocalDateTime time) {
+        LocalDateTime day = time.toLocalDate().atStartOfDay();
+        return switch (this) {
+            case DAILY -> day;
+            case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> day.withDayOfMonth(1);
+            case ALL_TIME -> null;
+        };
+    }
+    
+    /**
+     * start에 시작한 기간의 종료 시각 (다음 기간 시작, all_time은 null)
+     */
+    public LocalDateTime endOf(LocalDateTime start) {
+        return switch (this) {
+            case DAILY -> start.plusDays(1);
+            case WEEKLY -> start.plusWeeks(1);
+            case MONTHLY -> start.plusMonths(1);
+            case ALL_TIME -> null;
+        };
+    }
+    
+    /**
+     * date가 속한 기간의 스냅샷 기록 시각 (all_time은 그날이 끝나는 시각)
+     */
+    public LocalDateTime snapshotEndOf(LocalDate date) {
+        LocalDateTime day = date.atStartOfDay();
+        return this == ALL_TIME ? day.plusDays(1) : endOf(startOf(day));
+    }
+}
@@ -0,0 +1,194 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Ranking;
+import com.aetherisland.repository.RankingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기간 랭킹 스냅샷 기록
+ * 날짜가 바뀌면 그 시점의 전체 점수를 all_time으로 기록하고, 끝난 daily(매일)·weekly(월요일)·monthly(1일) 기간의
+ * 점수를 all_time 스냅샷 차이로 한 번에 INSERT…SELECT
+ * 서버가 꺼져 있어 놓친 날짜 경계도 다음 확인 때 모두 채우고 (종료 점수는 그때 기록한 스냅샷),
+ * 시작 스냅샷이 없는 기간은 기준 0으로 계산하지 않고 건너뜀
+ * 여러 노드가 동시에 실행해도 유니크 제약으로 한 노드만 기록
+ * 지난 기간 조회도 (score, user_id) 키셋으로 스냅샷을 읽음
+ */
+@Service
+public class RankingSnapshotService {
+    // 월간 점수 계산에 한 달 전 all_time 스냅샷이 필요
+    private static final int MIN_RETENTION_DAYS = 32;
+    
+    private final RankingRepository rankingRepository;
+    private final LeaderboardService leaderboardService;
+    private final TransactionTemplate transactionTemplate;
+    private final long checkIntervalMillis;
+    private final int retentionDays;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranking-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public RankingSnapshotService(
+        RankingRepository rankingRepository,
+        LeaderboardService leaderboardService,
+        PlatformTransactionManager transactionManager,
+        @Value("${leaderboard.snapshot.check-interval-ms:60000}") long checkIntervalMillis,
+        @Value("${leaderboard.snapshot.retention-days:90}") int retentionDays
+    ) {
+        this.rankingRepository = rankingRepository;
+        this.leaderboardService = leaderboardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.retentionDays = Math.max(retentionDays, MIN_RETENTION_DAYS);
+    }
+    
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    /**
+     * 기록된 스냅샷의 상위 순위 또는 커서 다음 순위 조회
+     * @param cursor 없으면 1위부터
+     */
+    public List<Ranking> page(String category, RankingPeriod period, LocalDateTime periodEnd,
+                              LeaderboardService.Cursor cursor, int limit) {
+        LeaderboardService.checkCategory(category);
+        if (cursor == null) {
+            return rankingRepository.findByCategoryAndPeriodAndPeriodEndOrderByRankAscUserIdAsc(category,
+                period.value(), periodEnd, Limit.of(limit));
+        }
+        return rankingRepository.findSnapshotAfter(category, period.value(), periodEnd, (int) cursor.score(),
+            cursor.userId(), PageRequest.of(0, limit));
+    }
+    
+    /**
+     * 기록된 스냅샷에서 유저 앞뒤로 k명씩 조회 (스냅샷에 없는 유저면 빈 목록)
+     */
+    public List<Ranking> around(String category, RankingPeriod period, LocalDateTime periodEnd, String userId, int k) {
+        Ranking me = find(category, period, periodEnd, userId).orElse(null);
+        if (me == null) {
+            return List.of();
+        }
+        int score = me.getScore() != null ? me.getScore() : 0;
+        List<Ranking> rows = new ArrayList<>(2 * k + 1);
+        if (k > 0) {
+            rows.addAll(rankingRepository.findSnapshotBefore(category, period.value(), periodEnd, score, userId,
+                PageRequest.of(0, k)));
+            Collections.reverse(rows);
+        }
+        rows.add(me);
+        if (k > 0) {
+            rows.addAll(rankingRepository.findSnapshotAfter(category, period.value(), periodEnd, score, userId,
+                PageRequest.of(0, k)));
+        }
+        return rows;
+    }
+    
+    public Optional<Ranking> find(String category, RankingPeriod period, LocalDateTime periodEnd, String userId) {
+        LeaderboardService.checkCategory(category);
+        return rankingRepository.findByCategoryAndPeriodAndPeriodEndAndUserId(category, period.value(), periodEnd,
+            userId);
+    }
+    
+    public long count(String category, RankingPeriod period, LocalDateTime periodEnd) {
+        return rankingRepository.countByCategoryAndPeriodAndPeriodEnd(category, period.value(), periodEnd);
+    }
+    
+    private void check() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime boundary = RankingPeriod.DAILY.startOf(now);
+            LocalDateTime last = rankingRepository.findLatestPeriodEnd(RankingPeriod.ALL_TIME.value());
+            if (last == null || last.isBefore(boundary)) {
+                snapshot(last, boundary, now);
+            }
+            leaderboardService.rollPeriods(now);
+        } catch (Exception e) {
+            System.err.println("Error checking ranking snapshot: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 마지막 스냅샷(last) 다음 날짜 경계부터 오늘 경계(boundary)까지 기록
+     * 지난 시점의 점수는 남아 있지 않으므로 all_time은 오늘 경계에 지금 점수로 한 번만 기록하고,
+     * 놓친 경계에서 끝난 기간은 이 스냅샷을 종료 점수로 사용
+     */
+    private void snapshot(LocalDateTime last, LocalDateTime boundary, LocalDateTime now) {
+        long startedAt = System.currentTimeMillis();
+        // 보관 기간보다 오래된 경계는 시작 스냅샷도 남아 있지 않으므로 제외
+        LocalDateTime oldest = boundary.minusDays(retentionDays);
+        LocalDateTime first = last == null ? boundary : last.plusDays(1);
+        if (first.isBefore(oldest)) {
+            first = oldest;
+        }
+        LocalDateTime from = first;
+        if (from.isBefore(boundary)) {
+            System.out.println("⚠️ 놓친 랭킹 스냅샷 경계 보충: " + from + " ~ " + boundary.minusDays(1)
+                + " (종료 점수는 " + now + " 기준)");
+        }
+        try {
+            int written = transactionTemplate.execute(status -> {
+                int rows = 0;
+                for (String category : LeaderboardService.CATEGORIES) {
+                    rows += rankingRepository.insertAllTimeSnapshot(category, boundary, now);
+                }
+                for (LocalDateTime end = from; !end.isAfter(boundary); end = end.plusDays(1)) {
+                    rows += insertPeriods(RankingPeriod.DAILY, end, boundary, now);
+                    if (end.getDayOfWeek() == DayOfWeek.MONDAY) {
+                        rows += insertPeriods(RankingPeriod.WEEKLY, end, boundary, now);
+                    }
+                    if (end.getDayOfMonth() == 1) {
+                        rows += insertPeriods(RankingPeriod.MONTHLY, end, boundary, now);
+                    }
+                }
+                rankingRepository.deleteSnapshotsBefore(
+                    List.of(RankingPeriod.DAILY.value(), RankingPeriod.ALL_TIME.value()), oldest);
+                return rows;
+            });
+            System.out.println("✅ 랭킹 스냅샷 기록 완료: " + boundary + " (" + written + "행, "
+                + (System.currentTimeMillis() - startedAt) + "ms)");
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 기록한 경우
+        }
+    }
+    
+    // end에 끝난 기간 점수 기록 (시작 시점 all_time 스냅샷이 없으면 모든 점수가 전체 점수가 되므로 건너뜀)
+    private int insertPeriods(RankingPeriod period, LocalDateTime end, LocalDateTime endSnapshotAt,
+                              LocalDateTime now) {
+        LocalDateTime start = period.startOf(end.minusDays(1));
+        if (!rankingRepository.existsByPeriodAndPeriodEnd(RankingPeriod.ALL_TIME.value(), start)) {
+            System.out.println("⚠️ 시작 스냅샷이 없어 " + period.value() + " 랭킹을 건너뜀: " + start + " ~ " + end);
+            return 0;
+        }
+        int rows = 0;
+        for (String category : LeaderboardService.CATEGORIES) {
+            rows += rankingRepository.insertPeriodSnapshot(category, period.value(), start, end, endSnapshotAt, now);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,324 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.SimulationLease;
+import com.aetherisland.entity.SimulationNode;
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.repository.SimulationLeaseRepository;
+import com.aetherisland.repository.SimulationNodeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 멀티 노드 시뮬레이션 파티션 임대 관리
+ * 노드마다 하트비트로 자기 임대를 연장하고, 살아 있는 노드 수로 나눈 몫만큼 파티션을 획득·반납
+ * 노드가 죽으면 임대가 만료되어 다른 노드가 가져감
+ * 틱이 도는 동안에는 남는 파티션을 반납하지 않고 틱이 끝난 뒤 다음 하트비트에서 반납
+ * 임대 시각은 모두 DB 시각으로 기록하고, 이 노드는 만료보다 안전 여유만큼 먼저 임대를 잃은 것으로 간주
+ * 정령 UPDATE에도 FENCE_SQL 조건을 붙여 DB 시각 기준으로 임대가 끝난 행은 기록하지 않음
+ * simulation.cluster.enabled=false(기본)이면 모든 정령을 이 노드가 처리
+ */
+@Component
+public class SimulationLeaseManager {
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    
+    /**
+     * 정령 UPDATE의 WHERE 뒤에 붙이는 조건 (파라미터: 노드 id)
+     * 이 노드가 DB 시각 기준으로 아직 임대 중인 파티션의 행만 갱신
+     */
+    public static final String FENCE_SQL =
+        " AND EXISTS (SELECT 1 FROM simulation_leases l WHERE l.partition_id = spiritlings.sim_partition " +
+        "AND l.owner = ? AND l.expires_at > LOCALTIMESTAMP)";
+    
+    private final SimulationLeaseRepository leaseRepository;
+    private final SimulationNodeRepository nodeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String nodeId;
+    private final long leaseTtlMillis;
+    private final long heartbeatMillis;
+    private final long safetyMarginMillis;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "simulation-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // 틱은 읽기 잠금, 파티션 반납은 쓰기 잠금 (틱 도중 넘겨준 파티션을 두 노드가 함께 처리하지 않도록)
+    private final ReentrantReadWriteLock handoff = new ReentrantReadWriteLock();
+    
+    private volatile Set<Integer> ownedPartitions = Collections.emptySet();
+    private volatile long validUntilMillis;
+    private volatile long ownershipVersion;
+    private volatile int liveNodes;
+    
+    public SimulationLeaseManager(
+        SimulationLeaseRepository leaseRepository,
+        SimulationNodeRepository nodeRepository,
+        JdbcTemplate jdbcTemplate,
+        @Value("${simulation.cluster.enabled:false}") boolean enabled,
+        @Value("${simulation.cluster.node-id:}") String nodeId,
+        @Value("${simulation.cluster.lease-ttl-ms:30000}") long leaseTtlMillis,
+        @Value("${simulation.cluster.heartbeat-ms:10000}") long heartbeatMillis,
+        @Value("${simulation.cluster.lease-safety-margin-ms:5000}") long safetyMarginMillis
+    ) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.nodeId = nodeId != null && !nodeId.isBlank() ? nodeId : defaultNodeId();
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.safetyMarginMillis = safetyMarginMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        System.out.println("시뮬레이션 파티션 임대를 시작합니다... (노드 " + nodeId + ")");
+        heartbeat.execute(() -> {
+            try {
+                ensureLeaseRows();
+                backfillPartitions();
+            } catch (Exception e) {
+                System.err.println("Error preparing simulation partitions: " + e.getMessage());
+            }
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    /**
+     * 이 노드가 현재 처리할 수 있는 파티션
+     * 하트비트가 실패해 임대 만료 시각(안전 여유를 뺀 시각)이 지나면 빈 집합을 반환해 다른 노드와 중복 처리하지 않음
+     */
+    public Set<Integer> ownedPartitions() {
+        if (System.currentTimeMillis() >= validUntilMillis) {
+            return Collections.emptySet();
+        }
+        return ownedPartitions;
+    }
+    
+    /**
+     * 이 노드가 정령을 처리해도 되는지 (클러스터 모드가 아니면 항상 true)
+     */
+    public boolean owns(Spiritling spiritling) {
+        if (!enabled) {
+            return true;
+        }
+        Integer partition = spiritling.getSimPartition() != null
+            ? spiritling.getSimPartition()
+            : Spiritling.partitionOf(spiritling.getUserId());
+        return ownedPartitions().contains(partition);
+    }
+    
+    /**
+     * 파티션 하나를 이 노드가 처리해도 되는지 (클러스터 모드가 아니면 항상 true)
+     */
+    public boolean owns(int partition) {
+        return !enabled || ownedPartitions().contains(partition);
+    }
+    
+    /**
+     * 틱 시작: 끝날 때까지(endTick) 이 노드의 파티션 반납을 미룸
+     * 같은 스레드에서 endTick을 호출해야 함
+     */
+    public void beginTick() {
+        if (enabled) {
+            handoff.readLock().lock();
+        }
+    }
+    
+    public void endTick() {
+        if (enabled) {
+            handoff.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 파티션을 얻거나 잃을 때마다 증가 (메모리 상태를 다시 적재해야 하는지 판단용)
+     */
+    public long ownershipVersion() {
+        return ownershipVersion;
+    }
+    
+    private void heartbeat() {
+        try {
+            // 노드 간 시계 차이가 임대 판정에 끼지 않도록 DB 시각 사용 (FENCE_SQL과 같은 기준)
+            long renewedAt = System.currentTimeMillis();
+            LocalDateTime now = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+            LocalDateTime expiresAt = now.plusNanos(leaseTtlMillis * 1_000_000);
+            
+            nodeRepository.save(new SimulationNode(nodeId, now));
+            leaseRepository.renew(nodeId, now, expiresAt);
+            List<Integer> owned = new ArrayList<>(leaseRepository.findOwnedPartitions(nodeId, now));
+            
+            // 살아 있는 노드 수로 나눈 몫(올림)만큼 보유하도록 조정
+            LocalDateTime aliveSince = now.minusNanos(leaseTtlMillis * 1_000_000);
+            int nodes = (int) Math.max(1, nodeRepository.countByHeartbeatAtAfter(aliveSince));
+            int target = (Spiritling.SIMULATION_PARTITIONS + nodes - 1) / nodes;
+            
+            // 틱이 도는 중이면 반납을 다음 하트비트로 미룸
+            if (owned.size() > target && handoff.writeLock().tryLock()) {
+                try {
+                    while (owned.size() > target) {
+                        Integer partition = owned.remove(owned.size() - 1);
+                        leaseRepository.release(partition, nodeId);
+                    }
+                    publish(owned, nodes);
+                } finally {
+                    handoff.writeLock().unlock();
+                }
+            }
+            if (owned.size() < target) {
+                List<Integer> claimable = leaseRepository.findClaimablePartitions(now);
+                Collections.shuffle(claimable);
+                for (Integer partition : claimable) {
+                    if (owned.size() >= target) {
+                        break;
+                    }
+                    if (leaseRepository.claim(partition, nodeId, now, expiresAt) == 1) {
+                        owned.add(partition);
+                    }
+                }
+            }
+            
+            publish(owned, nodes);
+            liveNodes = nodes;
+            // 이 노드의 시계로 재는 만료 시각이므로, DB 시각과의 차이와 가장 긴 페이지 기록 시간만큼 먼저 내려놓음
+            validUntilMillis = renewedAt + leaseTtlMillis - safetyMarginMillis;
+        } catch (Exception e) {
+            System.err.println("Error in simulation lease heartbeat: " + e.getMessage());
+        }
+    }
+    
+    private void publish(List<Integer> owned, int nodes) {
+        Set<Integer> next = Collections.unmodifiableSet(new TreeSet<>(owned));
+        if (!next.equals(ownedPartitions)) {
+            System.out.println("🔁 시뮬레이션 파티션 변경: " + ownedPartitions.size() + " → " + next.size()
+                + "개 (노드 " + nodes + "개)");
+            ownedPartitions = next;
+            ownershipVersion++;
+        }
+    }
+    
+    private void ensureLeaseRows() {
+        Set<Integer> existing = new HashSet<>();
+        for (SimulationLease lease : leaseRepository.findAll()) {
+            existing.add(lease.getPartitionId());
+        }
+        for (int partition = 0; partition < Spiritling.SIMULATION_PARTITIONS; partition++) {
+            if (existing.contains(partition)) {
+                continue;
+            }
+            try {
+                // save()는 merge라 다른 노드가 먼저 만든 행의 소유자를 덮을 수 있으므로 INSERT만 시도
+                jdbcTemplate.update("INSERT INTO simulation_leases (partition_id) VALUES (?)", partition);
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 먼저 만든 경우
+            }
+        }
+    }
+    
+    /**
+     * 파티션 컬럼이 추가되기 전에 만들어진 정령에 파티션을 배정
+     */
+    private void backfillPartitions() {
+        int total = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, user_id FROM spiritlings WHERE sim_partition IS NULL ORDER BY id LIMIT " + BACKFILL_BATCH_SIZE,
+                (rs, rowNum) -> new Object[] { Spiritling.partitionOf(rs.getString("user_id")), rs.getString("id") });
+            if (rows.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE spiritlings SET sim_partition = ? WHERE id = ?", rows);
+            total += rows.size();
+        }
+        if (total > 0) {
+            System.out.println("✅ 정령 시뮬레이션 파티션 배정 완료: " + total + "개");
+        }
+    }
+    
+    /**
+     * 임대 상태 (health check용)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        if (enabled) {
+            status.put("node_id", nodeId);
+            status.put("live_nodes", liveNodes);
+            status.put("owned_partitions", ownedPartitions().size());
+            status.put("total_partitions", Spiritling.SIMULATION_PARTITIONS);
+        }
+        return status;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        if (!enabled) {
+            return;
+        }
+        boolean locked = false;
+        try {
+            // 진행 중인 틱이 끝난 뒤 임대를 바로 반납해 다른 노드가 만료를 기다리지 않고 가져가도록 함
+            // (틱이 임대 유효 시간 안에 끝나지 않으면 반납하지 않고 만료에 맡김)
+            locked = handoff.writeLock().tryLock(leaseTtlMillis, TimeUnit.MILLISECONDS);
+            ownedPartitions = Collections.emptySet();
+            validUntilMillis = 0;
+            ownershipVersion++;
+            if (locked) {
+                leaseRepository.releaseAll(nodeId);
+            }
+            nodeRepository.deleteById(nodeId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Error releasing simulation leases: " + e.getMessage());
+        } finally {
+            if (locked) {
+                handoff.writeLock().unlock();
+            }
+        }
+    }
+    
+    // 같은 프로세스에 여러 인스턴스가 떠도 겹치지 않도록 빈마다 임의 접미사를 붙임
+    private static String defaultNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + ProcessHandle.current().pid() + "-" + suffix;
+        } catch (Exception e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
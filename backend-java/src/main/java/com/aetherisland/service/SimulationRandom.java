@@ -0,0 +1,45 @@
+package com.aetherisland.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * 틱 시드와 정령 id로 정령별 난수열을 만드는 도우미
+ * 어느 워커 스레드가 어떤 순서로 처리하든 같은 시드면 같은 결과가 나오므로 기록된 틱을 그대로 재현할 수 있음
+ */
+public final class SimulationRandom {
+    private SimulationRandom() {
+    }
+    
+    public static SplittableRandom forSpiritling(long tickSeed, String spiritlingId) {
+        return new SplittableRandom(mix64(tickSeed ^ mix64(hash64(spiritlingId))));
+    }
+    
+    // 대회 경기별 난수열 (같은 시드·라운드·경기 번호면 어느 스레드에서 실행해도 같은 결과)
+    public static SplittableRandom forMatch(long seed, int round, int match) {
+        return new SplittableRandom(mix64(seed ^ mix64(((long) round << 32) | (match & 0xffffffffL))));
+    }
+    
+    // 문자열 시드 (대회 id 등)
+    public static long seedOf(String value) {
+        return mix64(hash64(value));
+    }
+    
+    // FNV-1a 64비트 (String.hashCode보다 충돌이 적음)
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+    
+    // SplitMix64 최종 혼합 함수
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,95 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기록된 틱 오프라인 재실행 도구 (DB·Spring 없이 실행)
+ * 기록된 시드로 시뮬레이션·자율 행동을 다시 계산해 기록된 결과와 비교하고, 반복 실행 시간을 측정
+ *
+ * 사용법: java -cp target/classes:<의존성> com.aetherisland.service.SimulationReplay tick-xxx.jsonl [반복 횟수]
+ */
+public class SimulationReplay {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("사용법: SimulationReplay <기록 파일> [반복 횟수]");
+            System.exit(1);
+        }
+        int repeat = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        
+        long seed;
+        boolean lazyMode;
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            JsonNode header = OBJECT_MAPPER.readTree(reader.readLine());
+            seed = header.get("seed").asLong();
+            lazyMode = "lazy".equals(header.get("mode").asText());
+            
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = OBJECT_MAPPER.readTree(line);
+                entries.add(new Entry(
+                    node.path("fromMinute").asLong(0),
+                    node.get("minutes").asInt(),
+                    OBJECT_MAPPER.treeToValue(node.get("before"), SimulationTickRecorder.Snapshot.class),
+                    OBJECT_MAPPER.treeToValue(node.get("after"), SimulationTickRecorder.Snapshot.class)
+                ));
+            }
+        }
+        
+        System.out.println("틱 재실행: 시드 " + seed + ", 모드 " + (lazyMode ? "lazy" : "tick")
+            + ", 정령 " + entries.size() + "개, 반복 " + repeat + "회");
+        
+        SpiritlingSimulationKernel simulationKernel = new SpiritlingSimulationKernel();
+        SpiritlingAIKernel aiKernel = new SpiritlingAIKernel();
+        int mismatches = 0;
+        
+        for (int round = 0; round < repeat; round++) {
+            long startedAt = System.nanoTime();
+            int roundMismatches = 0;
+            for (Entry entry : entries) {
+                Spiritling spiritling = entry.before().toSpiritling();
+                simulationKernel.simulate(spiritling, entry.fromMinute(), entry.minutes());
+                aiKernel.act(spiritling, SimulationRandom.forSpiritling(seed, spiritling.getId()), lazyMode,
+                    SpiritlingAIKernel.ActionLogSink.NONE);
+                
+                SimulationTickRecorder.Snapshot replayed = SimulationTickRecorder.Snapshot.of(spiritling);
+                if (!replayed.equals(entry.after())) {
+                    roundMismatches++;
+                    if (round == 0 && roundMismatches <= 10) {
+                        System.out.println("❌ 불일치 " + spiritling.getId());
+                        System.out.println("   기록: " + entry.after());
+                        System.out.println("   재현: " + replayed);
+                    }
+                }
+            }
+            long elapsedMicros = (System.nanoTime() - startedAt) / 1000;
+            System.out.println("  " + (round + 1) + "회차: " + elapsedMicros + "µs, 불일치 " + roundMismatches + "개");
+            mismatches = Math.max(mismatches, roundMismatches);
+        }
+        
+        if (mismatches == 0) {
+            System.out.println("✅ 기록과 동일하게 재현되었습니다.");
+        } else {
+            System.out.println("⚠️ 기록과 다른 정령이 " + mismatches + "개 있습니다.");
+            System.exit(2);
+        }
+    }
+    
+    private record Entry(long fromMinute, int minutes, SimulationTickRecorder.Snapshot before, SimulationTickRecorder.Snapshot after) {
+    }
+}
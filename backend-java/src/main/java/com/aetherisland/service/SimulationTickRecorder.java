@@ -0,0 +1,156 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 틱 기록기 (디버깅·벤치마크용)
+ * simulation.record.dir을 지정하면 틱마다 시드와 정령별 처리 전/후 상태를 JSON Lines 파일로 남김
+ * 기록한 파일은 SimulationReplay로 오프라인 재실행
+ */
+@Component
+public class SimulationTickRecorder {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+    
+    public SimulationTickRecorder(@Value("${simulation.record.dir:}") String directory) {
+        this.directory = directory != null && !directory.isBlank() ? Paths.get(directory) : null;
+    }
+    
+    /**
+     * 틱 기록 시작
+     * @return 기록이 꺼져 있거나 파일을 만들지 못하면 null
+     */
+    public Recording begin(long seed, String mode) {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(directory);
+            LocalDateTime now = LocalDateTime.now();
+            Path file = directory.resolve("tick-" + FILE_TIME.format(now) + "-" + Long.toHexString(seed) + ".jsonl");
+            Recording recording = new Recording(file, Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("seed", seed);
+            header.put("mode", mode);
+            header.put("started_at", now.toString());
+            recording.writeLine(header);
+            return recording;
+        } catch (IOException e) {
+            System.err.println("Error starting tick recording: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    public class Recording {
+        private final Path file;
+        private final BufferedWriter writer;
+        private int count;
+        private boolean failed;
+        
+        private Recording(Path file, BufferedWriter writer) {
+            this.file = file;
+            this.writer = writer;
+        }
+        
+        /**
+         * 정령 한 마리의 처리 기록 (워커 스레드에서 동시에 호출)
+         * @param fromMinute 적용한 구간의 시작 (에포크 기준 분, tick 모드는 0)
+         * @param minutes 적용한 경과 시간 (분)
+         */
+        public void record(long fromMinute, int minutes, Spiritling before, Spiritling after) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("fromMinute", fromMinute);
+            line.put("minutes", minutes);
+            line.put("before", Snapshot.of(before));
+            line.put("after", Snapshot.of(after));
+            synchronized (this) {
+                writeLine(line);
+                count++;
+            }
+        }
+        
+        public synchronized void close() {
+            try {
+                writer.close();
+                System.out.println("📝 틱 기록 저장: " + file + " (" + count + "개 정령)");
+            } catch (IOException e) {
+                System.err.println("Error closing tick recording: " + e.getMessage());
+            }
+        }
+        
+        private void writeLine(Object value) {
+            if (failed) {
+                return;
+            }
+            try {
+                writer.write(objectMapper.writeValueAsString(value));
+                writer.newLine();
+            } catch (IOException e) {
+                // 기록 실패가 시뮬레이션을 멈추지 않도록 이후 기록만 중단
+                failed = true;
+                System.err.println("Error writing tick recording: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 시뮬레이션·자율 행동에 쓰이는 정령 상태
+     */
+    public record Snapshot(
+        String id, String name, String personality, String currentAction, String growthStage,
+        Integer level, Integer experience,
+        Integer healthStat, Integer agilityStat, Integer intelligenceStat,
+        Integer friendlinessStat, Integer resilienceStat, Integer luckStat,
+        Integer hunger, Integer happiness, Integer energy, Integer healthStatus, Integer cleanliness
+    ) {
+        public static Snapshot of(Spiritling s) {
+            return new Snapshot(
+                s.getId(), s.getName(), s.getPersonality(), s.getCurrentAction(), s.getGrowthStage(),
+                s.getLevel(), s.getExperience(),
+                s.getHealthStat(), s.getAgilityStat(), s.getIntelligenceStat(),
+                s.getFriendlinessStat(), s.getResilienceStat(), s.getLuckStat(),
+                s.getHunger(), s.getHappiness(), s.getEnergy(), s.getHealthStatus(), s.getCleanliness()
+            );
+        }
+        
+        public Spiritling toSpiritling() {
+            Spiritling s = new Spiritling();
+            s.setId(id);
+            s.setName(name);
+            s.setPersonality(personality);
+            s.setCurrentAction(currentAction);
+            s.setGrowthStage(growthStage);
+            s.setLevel(level);
+            s.setExperience(experience);
+            s.setHealthStat(healthStat);
+            s.setAgilityStat(agilityStat);
+            s.setIntelligenceStat(intelligenceStat);
+            s.setFriendlinessStat(friendlinessStat);
+            s.setResilienceStat(resilienceStat);
+            s.setLuckStat(luckStat);
+            s.setHunger(hunger);
+            s.setHappiness(happiness);
+            s.setEnergy(energy);
+            s.setHealthStatus(healthStatus);
+            s.setCleanliness(cleanliness);
+            return s;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 자율 행동 AI 규칙 (상태 업데이트, 자율 행동, 레벨업)
+ * 저장소에 접근하지 않고 난수열을 인자로 받으므로 틱 처리와 오프라인 재현(SimulationReplay)에서 함께 사용
+ */
+@Component
+public class SpiritlingAIKernel {
+    private static final String[] ACTIVITIES = {
+        "달리기를 했습니다.",
+        "점프를 했습니다.",
+        "공을 굴렸습니다.",
+        "구름을 바라보고 있습니다."
+    };
+    
+    /**
+     * 행동 로그를 받는 쪽 (저장 방식은 호출한 쪽에서 결정)
+     */
+    @FunctionalInterface
+    public interface ActionLogSink {
+        ActionLogSink NONE = (spiritlingId, actionType, message) -> { };
+        
+        void log(String spiritlingId, String actionType, String message);
+        
+        /**
+         * 농장일 골드 (페이지 트랜잭션이 커밋된 뒤에 지급, 기본은 버림)
+         */
+        default void creditGold(String userId, int gold) {
+        }
+    }
+    
+    /**
+     * 자율 행동 AI를 한 번 적용
+     * lazy 모드에서는 상태 감소를 시간 기반 계산이 담당하므로 자율 행동만 적용
+     * @return 정령 상태가 바뀌었으면 true
+     */
+    public boolean act(Spiritling spiritling, SplittableRandom random, boolean lazyMode, ActionLogSink logs) {
+        boolean changed = false;
+        
+        // 상태 업데이트 (50% 확률)
+        if (!lazyMode && random.nextDouble() < 0.5) {
+            updateStatus(spiritling, random);
+            changed = true;
+        }
+        
+        // 자율 행동 (30% 확률)
+        if (random.nextDouble() < 0.3) {
+            changed |= !autonomousAction(spiritling, random, logs).isEmpty();
+        }
+        
+        return changed;
+    }
+    
+    public void updateStatus(Spiritling spiritling, SplittableRandom random) {
+        // 배고픔 감소 (1-3씩)
+        if (spiritling.getHunger() > 0) {
+            spiritling.setHunger(Math.max(0, spiritling.getHunger() - random.nextInt(3) + 1));
+        }
+        
+        // 행복도 감소 (배고픔이 낮으면 더 많이 감소)
+        int happinessDecrease;
+        if (spiritling.getHunger() < 30) {
+            happinessDecrease = random.nextInt(3) + 2;
+        } else {
+            happinessDecrease = random.nextInt(2);
+        }
+        spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - happinessDecrease));
+        
+        // 에너지 회복 (시간 경과에 따라)
+        if (spiritling.getEnergy() < 100) {
+            spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + random.nextInt(2) + 1));
+        }
+        
+        // 건강 상태 (청결도가 낮으면 건강도 감소)
+        if (spiritling.getCleanliness() < 30) {
+            spiritling.setHealthStatus(Math.max(0, spiritling.getHealthStatus() - random.nextInt(2)));
+        }
+        
+        // 청결도 감소
+        if (spiritling.getCleanliness() > 0) {
+            spiritling.setCleanliness(Math.max(0, spiritling.getCleanliness() - random.nextInt(2)));
+        }
+    }
+    
+    public List<String> autonomousAction(Spiritling spiritling, SplittableRandom random, ActionLogSink logs) {
+        List<String> actionMessages = new ArrayList<>();
+        
+        // 배고픔이 낮으면 자동으로 먹기 시도
+        if (spiritling.getHunger() < 30 && random.nextDouble() < 0.3) {
+            spiritling.setHunger(Math.min(100, spiritling.getHunger() + random.nextInt(11) + 10));
+            spiritling.setExperience(spiritling.getExperience() + 1);
+            String message = spiritling.getName() + "가 스스로 먹이를 찾아 먹었습니다.";
+            logs.log(spiritling.getId(), "auto_eat", message);
+            actionMessages.add(message);
+        }
+        
+        // 행복도가 낮으면 자동으로 놀기
+        if (spiritling.getHappiness() < 40 && random.nextDouble() < 0.2) {
+            spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + random.nextInt(6) + 5));
+            spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - random.nextInt(6) + 5));
+            spiritling.setExperience(spiritling.getExperience() + 1);
+            String message = spiritling.getName() + "가 혼자서 놀고 있습니다.";
+            logs.log(spiritling.getId(), "auto_play", message);
+            actionMessages.add(message);
+        }
+        
+        // 에너지가 많으면 자동으로 활동
+        if (spiritling.getEnergy() > 70 && random.nextDouble() < 0.1) {
+            spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - random.nextInt(6) + 10));
+            spiritling.setExperience(spiritling.getExperience() + random.nextInt(2) + 1);
+            String activity = ACTIVITIES[random.nextInt(ACTIVITIES.length)];
+            String message = spiritling.getName() + "가 " + activity;
+            logs.log(spiritling.getId(), "auto_activity", message);
+            actionMessages.add(message);
+        }
+        
+        // 레벨 업 체크
+        if (checkLevelUp(spiritling)) {
+            String message = spiritling.getName() + "가 레벨 " + spiritling.getLevel() + "로 성장했습니다!";
+            logs.log(spiritling.getId(), "level_up", message);
+            actionMessages.add(message);
+        }
+        
+        return actionMessages;
+    }
+    
+    private boolean checkLevelUp(Spiritling spiritling) {
+        int requiredExp = spiritling.getLevel() * 100;
+        if (spiritling.getExperience() >= requiredExp) {
+            spiritling.setLevel(spiritling.getLevel() + 1);
+            spiritling.setExperience(0);
+            
+            // 레벨업 시 모든 스탯 증가
+            spiritling.setHealthStat(Math.min(100, spiritling.getHealthStat() + 1));
+            spiritling.setAgilityStat(Math.min(100, spiritling.getAgilityStat() + 1));
+            spiritling.setIntelligenceStat(Math.min(100, spiritling.getIntelligenceStat() + 1));
+            spiritling.setFriendlinessStat(Math.min(100, spiritling.getFriendlinessStat() + 1));
+            spiritling.setResilienceStat(Math.min(100, spiritling.getResilienceStat() + 1));
+            spiritling.setLuckStat(Math.min(100, spiritling.getLuckStat() + 1));
+            
+            // 성장 단계 업데이트
+            if (spiritling.getLevel() >= 50) {
+                spiritling.setGrowthStage("elder");
+            } else if (spiritling.getLevel() >= 40) {
+                spiritling.setGrowthStage("transcendent");
+            } else if (spiritling.getLevel() >= 25) {
+                spiritling.setGrowthStage("adult");
+            } else if (spiritling.getLevel() >= 15) {
+                spiritling.setGrowthStage("adolescent");
+            } else if (spiritling.getLevel() >= 5) {
+                spiritling.setGrowthStage("infant");
+            }
+            
+            return true;
+        }
+        return false;
+    }
+}
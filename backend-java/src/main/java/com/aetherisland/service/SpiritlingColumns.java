@@ -0,0 +1,297 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 정령 상태를 열(column) 단위 기본형 배열로 보관하는 구조 (slot 번호로 인덱싱)
+ * 엔티티 대신 배열을 순회하므로 틱 중 박싱과 객체 할당이 없음
+ */
+public class SpiritlingColumns {
+    // 자율 행동 이벤트 비트 (플러시할 때 행동 로그로 변환)
+    public static final byte EVENT_AUTO_EAT = 1;
+    public static final byte EVENT_AUTO_PLAY = 1 << 1;
+    public static final byte EVENT_AUTO_ACTIVITY = 1 << 2;
+    public static final byte EVENT_LEVEL_UP = 1 << 3;
+    
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private int size;
+    
+    public String[] ids;
+    public String[] userIds;
+    public String[] names;
+    public byte[] action;
+    public byte[] personality;
+    public byte[] growthStage;
+    public int[] level;
+    public int[] experience;
+    public short[] healthStat;
+    public short[] agilityStat;
+    public short[] intelligenceStat;
+    public short[] friendlinessStat;
+    public short[] resilienceStat;
+    public short[] luckStat;
+    public short[] hunger;
+    public short[] happiness;
+    public short[] energy;
+    public short[] healthStatus;
+    public short[] cleanliness;
+    // 이 slot 값의 기준이 된 DB updated_at (플러시할 때 그 뒤에 API가 쓴 행은 덮어쓰지 않음)
+    public LocalDateTime[] updatedAt;
+    
+    // 틱 결과 (플러시 후 초기화)
+    public int[] pendingGold;
+    public byte[] events;
+    public byte[] activity;
+    public long[] dirty;
+    
+    public SpiritlingColumns(int initialCapacity) {
+        allocate(Math.max(64, initialCapacity));
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int capacity() {
+        return ids.length;
+    }
+    
+    public Integer slotOf(String id) {
+        return slotsById.get(id);
+    }
+    
+    /**
+     * 정령 상태를 slot에 기록 (없으면 새 slot 할당)
+     * @return slot 번호
+     */
+    public int put(Spiritling spiritling) {
+        Integer existing = slotsById.get(spiritling.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else {
+            if (size == ids.length) {
+                grow(ids.length * 2);
+            }
+            slot = size++;
+            slotsById.put(spiritling.getId(), slot);
+            ids[slot] = spiritling.getId();
+        }
+        
+        userIds[slot] = spiritling.getUserId();
+        names[slot] = spiritling.getName();
+        action[slot] = Action.code(spiritling.getCurrentAction());
+        personality[slot] = Personality.code(spiritling.getPersonality());
+        growthStage[slot] = GrowthStage.code(spiritling.getGrowthStage());
+        level[slot] = valueOf(spiritling.getLevel());
+        experience[slot] = valueOf(spiritling.getExperience());
+        healthStat[slot] = (short) valueOf(spiritling.getHealthStat());
+        agilityStat[slot] = (short) valueOf(spiritling.getAgilityStat());
+        intelligenceStat[slot] = (short) valueOf(spiritling.getIntelligenceStat());
+        friendlinessStat[slot] = (short) valueOf(spiritling.getFriendlinessStat());
+        resilienceStat[slot] = (short) valueOf(spiritling.getResilienceStat());
+        luckStat[slot] = (short) valueOf(spiritling.getLuckStat());
+        hunger[slot] = (short) valueOf(spiritling.getHunger());
+        happiness[slot] = (short) valueOf(spiritling.getHappiness());
+        energy[slot] = (short) valueOf(spiritling.getEnergy());
+        healthStatus[slot] = (short) valueOf(spiritling.getHealthStatus());
+        cleanliness[slot] = (short) valueOf(spiritling.getCleanliness());
+        updatedAt[slot] = spiritling.getUpdatedAt();
+        return slot;
+    }
+    
+    /**
+     * 삭제된 정령의 slot을 비움 (마지막 slot을 빈자리로 옮기므로 그 정령의 slot 번호가 바뀜)
+     * 틱 커널이 돌고 있지 않을 때만 호출
+     */
+    public void remove(String id) {
+        Integer removed = slotsById.remove(id);
+        if (removed == null) {
+            return;
+        }
+        int slot = removed;
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+            slotsById.put(ids[slot], slot);
+        }
+        ids[last] = null;
+        userIds[last] = null;
+        names[last] = null;
+        updatedAt[last] = null;
+        clearTickState(last);
+    }
+    
+    public void markDirty(int slot) {
+        dirty[slot >>> 6] |= 1L << slot;
+    }
+    
+    public boolean isDirty(int slot) {
+        return (dirty[slot >>> 6] & (1L << slot)) != 0;
+    }
+    
+    public void clearTickState(int slot) {
+        dirty[slot >>> 6] &= ~(1L << slot);
+        pendingGold[slot] = 0;
+        events[slot] = 0;
+        activity[slot] = 0;
+    }
+    
+    private void move(int from, int to) {
+        ids[to] = ids[from];
+        userIds[to] = userIds[from];
+        names[to] = names[from];
+        action[to] = action[from];
+        personality[to] = personality[from];
+        growthStage[to] = growthStage[from];
+        level[to] = level[from];
+        experience[to] = experience[from];
+        healthStat[to] = healthStat[from];
+        agilityStat[to] = agilityStat[from];
+        intelligenceStat[to] = intelligenceStat[from];
+        friendlinessStat[to] = friendlinessStat[from];
+        resilienceStat[to] = resilienceStat[from];
+        luckStat[to] = luckStat[from];
+        hunger[to] = hunger[from];
+        happiness[to] = happiness[from];
+        energy[to] = energy[from];
+        healthStatus[to] = healthStatus[from];
+        cleanliness[to] = cleanliness[from];
+        updatedAt[to] = updatedAt[from];
+        pendingGold[to] = pendingGold[from];
+        events[to] = events[from];
+        activity[to] = activity[from];
+        if (isDirty(from)) {
+            markDirty(to);
+        } else {
+            dirty[to >>> 6] &= ~(1L << to);
+        }
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    private void allocate(int capacity) {
+        ids = new String[capacity];
+        userIds = new String[capacity];
+        names = new String[capacity];
+        action = new byte[capacity];
+        personality = new byte[capacity];
+        growthStage = new byte[capacity];
+        level = new int[capacity];
+        experience = new int[capacity];
+        healthStat = new short[capacity];
+        agilityStat = new short[capacity];
+        intelligenceStat = new short[capacity];
+        friendlinessStat = new short[capacity];
+        resilienceStat = new short[capacity];
+        luckStat = new short[capacity];
+        hunger = new short[capacity];
+        happiness = new short[capacity];
+        energy = new short[capacity];
+        healthStatus = new short[capacity];
+        cleanliness = new short[capacity];
+        updatedAt = new LocalDateTime[capacity];
+        pendingGold = new int[capacity];
+        events = new byte[capacity];
+        activity = new byte[capacity];
+        dirty = new long[(capacity + 63) >>> 6];
+    }
+    
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        action = Arrays.copyOf(action, capacity);
+        personality = Arrays.copyOf(personality, capacity);
+        growthStage = Arrays.copyOf(growthStage, capacity);
+        level = Arrays.copyOf(level, capacity);
+        experience = Arrays.copyOf(experience, capacity);
+        healthStat = Arrays.copyOf(healthStat, capacity);
+        agilityStat = Arrays.copyOf(agilityStat, capacity);
+        intelligenceStat = Arrays.copyOf(intelligenceStat, capacity);
+        friendlinessStat = Arrays.copyOf(friendlinessStat, capacity);
+        resilienceStat = Arrays.copyOf(resilienceStat, capacity);
+        luckStat = Arrays.copyOf(luckStat, capacity);
+        hunger = Arrays.copyOf(hunger, capacity);
+        happiness = Arrays.copyOf(happiness, capacity);
+        energy = Arrays.copyOf(energy, capacity);
+        healthStatus = Arrays.copyOf(healthStatus, capacity);
+        cleanliness = Arrays.copyOf(cleanliness, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        pendingGold = Arrays.copyOf(pendingGold, capacity);
+        events = Arrays.copyOf(events, capacity);
+        activity = Arrays.copyOf(activity, capacity);
+        dirty = Arrays.copyOf(dirty, (capacity + 63) >>> 6);
+    }
+    
+    public enum Action {
+        IDLE("idle"), TRAINING("training"), RESTING("resting"),
+        FARMING("farming"), EXPLORING("exploring"), PLAYING("playing");
+        
+        private final String value;
+        
+        Action(String value) { this.value = value; }
+        
+        public String value() { return value; }
+        
+        // 알 수 없는 작업은 기존 시뮬레이션과 같이 자유 행동으로 처리
+        public static byte code(String value) {
+            for (Action candidate : values()) {
+                if (candidate.value.equals(value)) return (byte) candidate.ordinal();
+            }
+            return (byte) IDLE.ordinal();
+        }
+    }
+    
+    public enum Personality {
+        NORMAL("normal"), HARD_WORKER("hard_worker"), LAZY("lazy"),
+        GLUTTON("glutton"), LONER("loner"), PLAYFUL("playful");
+        
+        private final String value;
+        
+        Personality(String value) { this.value = value; }
+        
+        public String value() { return value; }
+        
+        public static byte code(String value) {
+            for (Personality candidate : values()) {
+                if (candidate.value.equals(value)) return (byte) candidate.ordinal();
+            }
+            return (byte) NORMAL.ordinal();
+        }
+    }
+    
+    public enum GrowthStage {
+        EGG("egg"), INFANT("infant"), ADOLESCENT("adolescent"),
+        ADULT("adult"), TRANSCENDENT("transcendent"), ELDER("elder");
+        
+        private static final GrowthStage[] VALUES = values();
+        
+        private final String value;
+        
+        GrowthStage(String value) { this.value = value; }
+        
+        public String value() { return value; }
+        
+        /**
+         * @return 알 수 없는 단계는 -1 (플러시할 때 기존 값을 유지)
+         */
+        public static byte code(String value) {
+            for (GrowthStage candidate : VALUES) {
+                if (candidate.value.equals(value)) return (byte) candidate.ordinal();
+            }
+            return -1;
+        }
+        
+        public static String valueOf(byte code) {
+            return code >= 0 ? VALUES[code].value : null;
+        }
+    }
+}
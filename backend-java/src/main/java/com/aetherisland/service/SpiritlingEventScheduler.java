@@ -0,0 +1,190 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 정령별 다음 이벤트 예약 (lazy 모드)
+ * 현재 작업·성격에 따른 분당 변화량으로 다음 관심 시점을 계산해 타이밍 휠에 예약하고,
+ * 틱마다 만료된 정령만 처리하도록 목록을 넘겨줌
+ * 관심 시점: 배고픔 30 미만(auto_eat), 행복도 40 미만(auto_play), 에너지 30 미만, 상태가 0이 되는 시점, 다음 레벨업
+ */
+@Component
+public class SpiritlingEventScheduler {
+    private static final int MAX_DELAY_MINUTES = 1440; // 조회 시점 계산 상한과 같은 24시간
+    private static final int WHEEL_LEVELS = 3;
+    
+    private final boolean enabled;
+    private final int tickMinutes;
+    private final TimingWheel<String> wheel = new TimingWheel<>(WHEEL_LEVELS);
+    private volatile long primedVersion = -1;
+    
+    public SpiritlingEventScheduler(
+        @Value("${simulation.mode:tick}") String mode,
+        @Value("${simulation.tick-interval-ms:300000}") long intervalMillis
+    ) {
+        this.enabled = "lazy".equals(mode);
+        this.tickMinutes = (int) Math.max(1, intervalMillis / 60000);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 처리 대상 정령이 모두 한 번 이상 예약되었는지
+     * 첫 틱과 임대 파티션이 바뀐 뒤의 틱은 전체를 처리하며 예약을 채움
+     * @param ownershipVersion SimulationLeaseManager.ownershipVersion()
+     */
+    public boolean isPrimed(long ownershipVersion) {
+        return primedVersion == ownershipVersion;
+    }
+    
+    public void markPrimed(long ownershipVersion) {
+        primedVersion = ownershipVersion;
+    }
+    
+    /**
+     * 현재 상태 기준으로 다음 이벤트를 다시 예약 (작업 지정·돌봄 행동·틱 처리 후 호출)
+     */
+    public void reschedule(Spiritling spiritling) {
+        if (!enabled || spiritling == null || spiritling.getId() == null) {
+            return;
+        }
+        int minutes = nextEventMinutes(spiritling);
+        long ticks = Math.max(1, (minutes + tickMinutes - 1) / tickMinutes);
+        synchronized (wheel) {
+            wheel.schedule(spiritling.getId(), ticks);
+        }
+    }
+    
+    /**
+     * 휠을 한 틱 진행하고 이번 틱에 처리할 정령 id 목록을 반환
+     */
+    public List<String> advance() {
+        synchronized (wheel) {
+            return wheel.advance();
+        }
+    }
+    
+    public int scheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+    
+    /**
+     * 다음 관심 시점까지 남은 시간 (분)
+     * 이미 배고프거나(30 미만) 심심한(40 미만) 정령은 자율 행동 기회를 위해 다음 틱에 다시 처리
+     */
+    public int nextEventMinutes(Spiritling spiritling) {
+        int hunger = valueOf(spiritling.getHunger());
+        int energy = valueOf(spiritling.getEnergy());
+        int happiness = valueOf(spiritling.getHappiness());
+        int cleanliness = valueOf(spiritling.getCleanliness());
+        if (hunger < 30 || happiness < 40) {
+            return 0;
+        }
+        
+        String action = spiritling.getCurrentAction() != null ? spiritling.getCurrentAction() : "idle";
+        String personality = spiritling.getPersonality() != null ? spiritling.getPersonality() : "normal";
+        
+        // 분당 감소량 (SpiritlingSimulationKernel의 기본 감소 + 작업 + 성격 효과)
+        double hungerDrain = 1.0 / 10;
+        double energyDrain = 1.0 / 15;
+        double happinessDrain = 1.0 / 20;
+        double expGain = 0;
+        
+        switch (action) {
+            case "training" -> {
+                expGain += 2;
+                energyDrain += 1.0 / 2;
+                hungerDrain += 1.0 / 8;
+            }
+            case "resting" -> {
+                energyDrain -= 1.0 / 3;
+                hungerDrain += 1.0 / 15;
+            }
+            case "farming" -> {
+                expGain += 1;
+                energyDrain += 1.0 / 3;
+                hungerDrain += 1.0 / 5;
+            }
+            case "exploring" -> {
+                expGain += 3;
+                energyDrain += 1.0 / 2;
+                hungerDrain += 1.0 / 8;
+            }
+            case "playing" -> {
+                happinessDrain -= 1.0 / 5;
+                energyDrain += 1.0 / 4;
+                expGain += 1;
+            }
+            default -> {
+                if (hunger < 50 && energy > 50) {
+                    hungerDrain -= 1.0 / 10;
+                }
+            }
+        }
+        
+        switch (personality) {
+            case "hard_worker" -> {
+                if ("training".equals(action) || "farming".equals(action)) {
+                    expGain += 1.0 / 5;
+                    energyDrain += 1.0 / 3;
+                }
+            }
+            case "lazy" -> {
+                if ("resting".equals(action)) {
+                    energyDrain -= 1.0 / 2;
+                } else if ("training".equals(action)) {
+                    expGain += 1.0 / 3;
+                }
+            }
+            case "glutton" -> hungerDrain += 1.0 / 7;
+            case "loner" -> {
+                if (!"idle".equals(action)) {
+                    happinessDrain += 1.0 / 30;
+                }
+            }
+            case "playful" -> {
+                if ("playing".equals(action)) {
+                    happinessDrain -= 1.0 / 3;
+                } else if (!"idle".equals(action)) {
+                    happinessDrain += 1.0 / 40;
+                }
+            }
+            default -> {
+            }
+        }
+        
+        int minutes = MAX_DELAY_MINUTES;
+        minutes = Math.min(minutes, minutesUntilBelow(hunger, 30, hungerDrain));
+        minutes = Math.min(minutes, minutesUntilBelow(happiness, 40, happinessDrain));
+        minutes = Math.min(minutes, minutesUntilBelow(energy, 30, energyDrain));
+        minutes = Math.min(minutes, minutesUntilBelow(energy, 1, energyDrain));
+        minutes = Math.min(minutes, minutesUntilBelow(cleanliness, 1, 1.0 / 30));
+        if (expGain > 0) {
+            int remainingExp = valueOf(spiritling.getLevel()) * 100 - valueOf(spiritling.getExperience());
+            minutes = Math.min(minutes, (int) Math.ceil(Math.max(0, remainingExp) / expGain));
+        }
+        return minutes;
+    }
+    
+    /**
+     * value가 분당 drain씩 줄어 threshold 미만이 되기까지 걸리는 시간 (이미 미만이거나 줄지 않으면 상한)
+     */
+    private static int minutesUntilBelow(int value, int threshold, double drain) {
+        if (value < threshold || drain <= 0) {
+            return MAX_DELAY_MINUTES;
+        }
+        return (int) Math.min(MAX_DELAY_MINUTES, Math.floor((value - threshold) / drain) + 1);
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
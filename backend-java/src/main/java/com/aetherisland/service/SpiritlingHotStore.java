@@ -0,0 +1,426 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.repository.SpiritlingRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 정령 상태 메모리 저장소 (columnar 모드)
+ * 모든 정령을 SpiritlingColumns에 올려두고 틱마다 배열 위에서 시뮬레이션·자율 행동을 처리한 뒤
+ * 변경된 slot만 JDBC 배치로 기록. API에서 바뀐 정령은 offer()로 받아 다음 틱 시작 시 반영
+ * 기록은 slot이 기준으로 삼은 updated_at 이후 다른 곳에서 쓴 행을 덮어쓰지 않으며, 그런 행은 다시 읽고 삭제된 정령은 내려놓음
+ * 클러스터 모드에서는 임대한 파티션의 정령만 올리며, 파티션이 바뀌면 다시 적재
+ */
+@Component
+public class SpiritlingHotStore {
+    // 틱 한 번에 진행하는 분 (벤치마크도 같은 값 사용)
+    public static final int TICK_MINUTES = 5;
+    private static final int MIN_CHUNK_SIZE = 4096;
+    
+    private static final String UPDATE_SQL =
+        "UPDATE spiritlings SET growth_stage = COALESCE(?, growth_stage), level = ?, experience = ?, " +
+        "health_stat = ?, agility_stat = ?, intelligence_stat = ?, friendliness_stat = ?, " +
+        "resilience_stat = ?, luck_stat = ?, hunger = ?, happiness = ?, energy = ?, " +
+        "health_status = ?, cleanliness = ?, updated_at = ?, simulated_at = ? " +
+        "WHERE id = ? AND (updated_at IS NULL OR updated_at <= ?)";
+    private static final String FENCED_UPDATE_SQL = UPDATE_SQL + SimulationLeaseManager.FENCE_SQL;
+    private static final String[] ACTIVITIES = {
+        "달리기를 했습니다.",
+        "점프를 했습니다.",
+        "공을 굴렸습니다.",
+        "구름을 바라보고 있습니다."
+    };
+    
+    private final SpiritlingRepository spiritlingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CoinLedger coinLedger;
+    private final SimulationLeaseManager leaseManager;
+    private final LeaderboardService leaderboardService;
+    private final ColumnarSimulationKernel kernel = new ColumnarSimulationKernel();
+    private final ConcurrentLinkedQueue<Spiritling> pending = new ConcurrentLinkedQueue<>();
+    private final boolean enabled;
+    private final int pageSize;
+    private final int threads;
+    private final ExecutorService workers;
+    
+    // 틱 스레드에서만 접근
+    private SpiritlingColumns columns;
+    private long loadedOwnershipVersion;
+    
+    public SpiritlingHotStore(
+        SpiritlingRepository spiritlingRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        CoinLedger coinLedger,
+        SimulationLeaseManager leaseManager,
+        LeaderboardService leaderboardService,
+        @Value("${simulation.mode:tick}") String mode,
+        @Value("${simulation.page-size:500}") int pageSize,
+        @Value("${simulation.parallelism:0}") int parallelism
+    ) {
+        this.spiritlingRepository = spiritlingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.coinLedger = coinLedger;
+        this.leaseManager = leaseManager;
+        this.leaderboardService = leaderboardService;
+        this.enabled = "columnar".equals(mode);
+        this.pageSize = pageSize;
+        this.threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        
+        if (enabled) {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            this.workers = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "spiritling-hot-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        } else {
+            this.workers = null;
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * API에서 변경·생성된 정령 상태를 저장소에 반영 (다음 틱 시작 시 적용)
+     */
+    public void offer(Spiritling spiritling) {
+        if (enabled && spiritling != null) {
+            pending.add(spiritling);
+        }
+    }
+    
+    public void offerAll(Iterable<Spiritling> spiritlings) {
+        for (Spiritling spiritling : spiritlings) {
+            offer(spiritling);
+        }
+    }
+    
+    /**
+     * 틱 1회 실행 (SpiritlingTickScheduler가 호출, 동시에 한 번만 실행됨)
+     * @param tickSeed 자율 행동 난수 시드
+     */
+    public SpiritlingSimulationEngine.TickResult tick(long tickSeed) {
+        // 틱이 끝날 때까지 파티션 반납을 미룸
+        leaseManager.beginTick();
+        try {
+            return tickOwned(tickSeed);
+        } finally {
+            leaseManager.endTick();
+        }
+    }
+    
+    private SpiritlingSimulationEngine.TickResult tickOwned(long tickSeed) {
+        long startedAt = System.currentTimeMillis();
+        if (columns == null || loadedOwnershipVersion != leaseManager.ownershipVersion()) {
+            columns = load();
+        } else {
+            applyPending(false);
+        }
+        
+        SpiritlingColumns c = columns;
+        int size = c.size();
+        
+        // 64개 단위로 정렬된 구간으로 나눠 dirty 비트 워드를 스레드끼리 공유하지 않게 함
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, ((size + threads - 1) / threads + 63) & ~63);
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(size, from + chunkSize);
+            chunks.add(() -> {
+                kernel.simulate(c, start, end, TICK_MINUTES);
+                kernel.act(c, start, end, tickSeed);
+                return null;
+            });
+        }
+        
+        int failed = 0;
+        try {
+            for (Future<Void> future : workers.invokeAll(chunks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("정령 틱이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            System.err.println("Error in columnar spiritling tick: " + e.getCause().getMessage());
+            failed = size;
+        }
+        
+        // 틱 도중 API가 저장한 정령은 기록 전에 최신 상태로 덮어쓰고, 버려진 이번 틱 결과(골드·이벤트)도 지움
+        applyPending(true);
+        int[] flushResult = flushDirty(c);
+        int creditedUsers = coinLedger.flush();
+        
+        SpiritlingSimulationEngine.TickResult result = new SpiritlingSimulationEngine.TickResult(
+            size, flushResult[0], failed + flushResult[1], flushResult[2],
+            System.currentTimeMillis() - startedAt);
+        System.out.println("✅ 정령 시뮬레이션 완료 (columnar): " + result.processed() + "개 정령 처리 (기록 "
+            + result.flushed() + "개, 실패 " + result.failed() + "개, 골드 지급 " + creditedUsers + "명, "
+            + result.elapsedMillis() + "ms)");
+        return result;
+    }
+    
+    private SpiritlingColumns load() {
+        long startedAt = System.currentTimeMillis();
+        // 적재 중 들어온 변경은 적재 이후에 덮어쓰도록 큐는 비우지 않음
+        loadedOwnershipVersion = leaseManager.ownershipVersion();
+        Set<Integer> partitions = leaseManager.isEnabled() ? leaseManager.ownedPartitions() : null;
+        SpiritlingColumns loaded = new SpiritlingColumns(pageSize);
+        String afterId = "";
+        while (partitions == null || !partitions.isEmpty()) {
+            List<Spiritling> page = partitions == null
+                ? spiritlingRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize))
+                : spiritlingRepository.findBySimPartitionInAndIdGreaterThanOrderByIdAsc(partitions, afterId,
+                    Limit.of(pageSize));
+            for (Spiritling spiritling : page) {
+                loaded.put(spiritling);
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        columns = loaded;
+        applyPending(false);
+        System.out.println("✅ 정령 상태 메모리 적재 완료: " + loaded.size() + "개 ("
+            + (System.currentTimeMillis() - startedAt) + "ms)");
+        return loaded;
+    }
+    
+    /**
+     * @param discardTickState 커널이 이미 돈 뒤라면 true: 덮어쓴 slot의 dirty 비트·골드·이벤트를 지움
+     */
+    private void applyPending(boolean discardTickState) {
+        Spiritling spiritling;
+        while ((spiritling = pending.poll()) != null) {
+            if (leaseManager.owns(spiritling)) {
+                boolean existed = columns.slotOf(spiritling.getId()) != null;
+                int slot = columns.put(spiritling);
+                if (discardTickState && existed) {
+                    columns.clearTickState(slot);
+                }
+            }
+        }
+    }
+    
+    /**
+     * dirty 비트가 켜진 slot을 페이지 크기 단위 트랜잭션으로 기록
+     * 실패한 페이지는 비트·골드·이벤트를 유지해 다음 틱에 다시 기록
+     * @return {기록 수, 실패 수, 페이지 수}
+     */
+    private int[] flushDirty(SpiritlingColumns c) {
+        int[] result = new int[3];
+        int[] batch = new int[pageSize];
+        int count = 0;
+        long[] dirty = c.dirty;
+        int size = c.size();
+        // DB(마이크로초 정밀도)에 그대로 저장되도록 잘라 두어 다음 기록의 기준 시각과 정확히 비교
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<String> stale = new ArrayList<>();
+        
+        for (int word = 0; word < dirty.length; word++) {
+            long bits = dirty[word];
+            while (bits != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (slot >= size) {
+                    break;
+                }
+                if (!leaseManager.owns(Spiritling.partitionOf(c.userIds[slot]))) {
+                    // 임대가 만료된 파티션은 기록하지 않고 다시 확인할 때 메모리에서 내려놓음
+                    stale.add(c.ids[slot]);
+                    continue;
+                }
+                batch[count++] = slot;
+                if (count == batch.length) {
+                    flushBatch(c, batch, count, now, result, stale);
+                    count = 0;
+                }
+            }
+        }
+        if (count > 0) {
+            flushBatch(c, batch, count, now, result, stale);
+        }
+        refresh(c, stale);
+        return result;
+    }
+    
+    private void flushBatch(SpiritlingColumns c, int[] slots, int count, LocalDateTime now, int[] result,
+                            List<String> stale) {
+        result[2]++;
+        int[][] updated = new int[1][];
+        boolean fenced = leaseManager.isEnabled();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 임대가 끝난 행도 0행으로 돌아와 다시 읽을 때 메모리에서 내려놓음
+                String sql = fenced ? FENCED_UPDATE_SQL : UPDATE_SQL;
+                updated[0] = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int index) throws SQLException {
+                        int i = slots[index];
+                        ps.setString(1, SpiritlingColumns.GrowthStage.valueOf(c.growthStage[i]));
+                        ps.setInt(2, c.level[i]);
+                        ps.setInt(3, c.experience[i]);
+                        ps.setInt(4, c.healthStat[i]);
+                        ps.setInt(5, c.agilityStat[i]);
+                        ps.setInt(6, c.intelligenceStat[i]);
+                        ps.setInt(7, c.friendlinessStat[i]);
+                        ps.setInt(8, c.resilienceStat[i]);
+                        ps.setInt(9, c.luckStat[i]);
+                        ps.setInt(10, c.hunger[i]);
+                        ps.setInt(11, c.happiness[i]);
+                        ps.setInt(12, c.energy[i]);
+                        ps.setInt(13, c.healthStatus[i]);
+                        ps.setInt(14, c.cleanliness[i]);
+                        ps.setObject(15, now);
+                        ps.setObject(16, now);
+                        ps.setString(17, c.ids[i]);
+                        ps.setTimestamp(18, c.updatedAt[i] != null ? Timestamp.valueOf(c.updatedAt[i]) : null);
+                        if (fenced) {
+                            ps.setString(19, leaseManager.getNodeId());
+                        }
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+                insertActionLogs(c, slots, count, updated[0]);
+            });
+        } catch (Exception e) {
+            result[1] += count;
+            System.err.println("Error flushing columnar page after " + c.ids[slots[0]] + ": " + e.getMessage());
+            return;
+        }
+        
+        for (int index = 0; index < count; index++) {
+            int i = slots[index];
+            if (updated[0][index] == 0) {
+                // 그 사이 다른 곳에서 쓰였거나 삭제된 행: 기록하지 않고 다시 읽음
+                stale.add(c.ids[i]);
+                continue;
+            }
+            if (c.pendingGold[i] > 0) {
+                coinLedger.credit(c.userIds[i], c.pendingGold[i]);
+            }
+            leaderboardService.onSpiritlingChanged(c.ids[i], c.userIds[i], c.level[i],
+                c.healthStat[i] + c.agilityStat[i] + c.intelligenceStat[i]
+                    + c.friendlinessStat[i] + c.resilienceStat[i] + c.luckStat[i]);
+            c.updatedAt[i] = now;
+            c.clearTickState(i);
+            result[0]++;
+        }
+    }
+    
+    /**
+     * 기록이 0행이었던 정령을 DB에서 다시 읽어 slot을 최신 상태로 덮어쓰고, 없어졌거나 임대가 끝난 정령은 slot을 비움
+     * 덮어쓴 slot의 이번 틱 결과(골드·이벤트)는 버려진 상태에서 나온 것이므로 지움
+     */
+    private void refresh(SpiritlingColumns c, List<String> staleIds) {
+        if (staleIds.isEmpty()) {
+            return;
+        }
+        int removed = 0;
+        try {
+            for (int from = 0; from < staleIds.size(); from += pageSize) {
+                List<String> ids = staleIds.subList(from, Math.min(staleIds.size(), from + pageSize));
+                Set<String> found = new HashSet<>();
+                for (Spiritling spiritling : spiritlingRepository.findAllById(ids)) {
+                    if (leaseManager.owns(spiritling)) {
+                        c.clearTickState(c.put(spiritling));
+                        found.add(spiritling.getId());
+                    }
+                }
+                for (String id : ids) {
+                    if (!found.contains(id)) {
+                        c.remove(id);
+                        removed++;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 다시 읽지 못한 slot은 dirty로 남아 다음 틱에 다시 확인
+            System.err.println("Error refreshing stale columnar slots: " + e.getMessage());
+            return;
+        }
+        System.out.println("⚠️ 다른 곳에서 바뀐 정령 " + (staleIds.size() - removed) + "개를 다시 읽고, "
+            + "삭제됐거나 임대가 끝난 정령 " + removed + "개를 메모리에서 제거했습니다.");
+    }
+    
+    private void insertActionLogs(SpiritlingColumns c, int[] slots, int count, int[] updated) {
+        ActionLogBuffer logs = new ActionLogBuffer();
+        for (int index = 0; index < count; index++) {
+            int i = slots[index];
+            byte events = c.events[i];
+            if (events == 0 || updated[index] == 0) {
+                continue;
+            }
+            String name = c.names[i];
+            if ((events & SpiritlingColumns.EVENT_AUTO_EAT) != 0) {
+                logs.log(c.ids[i], "auto_eat", name + "가 스스로 먹이를 찾아 먹었습니다.");
+            }
+            if ((events & SpiritlingColumns.EVENT_AUTO_PLAY) != 0) {
+                logs.log(c.ids[i], "auto_play", name + "가 혼자서 놀고 있습니다.");
+            }
+            if ((events & SpiritlingColumns.EVENT_AUTO_ACTIVITY) != 0) {
+                logs.log(c.ids[i], "auto_activity", name + "가 " + ACTIVITIES[c.activity[i]]);
+            }
+            if ((events & SpiritlingColumns.EVENT_LEVEL_UP) != 0) {
+                logs.log(c.ids[i], "level_up", name + "가 레벨 " + c.level[i] + "로 성장했습니다!");
+            }
+        }
+        logs.insert(jdbcTemplate);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
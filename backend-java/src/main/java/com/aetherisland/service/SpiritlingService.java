@@ -17,10 +17,18 @@ import java.util.stream.Collectors;
 public class SpiritlingService {
     private final SpiritlingRepository spiritlingRepository;
     private final ActionLogRepository actionLogRepository;
+    private final SpiritlingSimulationService simulationService;
+    private final VillageService villageService;
+    private final FriendRecommendationService recommendationService;
     
-    public SpiritlingService(SpiritlingRepository spiritlingRepository, ActionLogRepository actionLogRepository) {
+    public SpiritlingService(SpiritlingRepository spiritlingRepository, ActionLogRepository actionLogRepository,
+                             SpiritlingSimulationService simulationService, VillageService villageService,
+                             FriendRecommendationService recommendationService) {
         this.spiritlingRepository = spiritlingRepository;
         this.actionLogRepository = actionLogRepository;
+        this.simulationService = simulationService;
+        this.villageService = villageService;
+        this.recommendationService = recommendationService;
     }
     
     @Transactional
@@ -48,6 +56,9 @@ public class SpiritlingService {
         spiritling.setUserId(userId);
         
         Spiritling saved = spiritlingRepository.save(spiritling);
+        simulationService.onChanged(saved);
+        villageService.onSpiritlingCountChanged(userId);
+        recommendationService.onSpiritlingCreated(userId);
         
         // 생성 로그
         ActionLog log = new ActionLog();
@@ -63,6 +74,7 @@ public class SpiritlingService {
     
     public List<SpiritlingResponse> getSpiritlingsByUserId(String userId) {
         return spiritlingRepository.findByUserId(userId).stream()
+            .map(simulationService::project)
             .map(this::toResponse)
             .collect(Collectors.toList());
     }
@@ -75,7 +87,7 @@ public class SpiritlingService {
             throw new RuntimeException("마정령을 찾을 수 없습니다.");
         }
         
-        return toResponse(spiritling);
+        return toResponse(simulationService.project(spiritling));
     }
     
     @Transactional
@@ -91,6 +103,7 @@ public class SpiritlingService {
             spiritling.getName() + "에게 먹이를 주었습니다. 배고픔 +20, 행복도 +5");
         
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         return toResponse(spiritling);
     }
     
@@ -108,6 +121,7 @@ public class SpiritlingService {
             spiritling.getName() + "와 놀았습니다. 행복도 +15, 친근함 +1, 에너지 -10");
         
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         return toResponse(spiritling);
     }
     
@@ -125,6 +139,7 @@ public class SpiritlingService {
             spiritling.getName() + "를 치료했습니다. 건강 +25, 체력 +2, 행복도 +5");
         
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         return toResponse(spiritling);
     }
     
@@ -142,6 +157,7 @@ public class SpiritlingService {
             spiritling.getName() + "를 씻겼습니다. 청결도 +30, 행복도 +10, 건강 +5");
         
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         return toResponse(spiritling);
     }
     
@@ -184,6 +200,7 @@ public class SpiritlingService {
             spiritling.getName() + "의 " + statType + " 스탯을 훈련했습니다. +2, 에너지 -20");
         
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         return toResponse(spiritling);
     }
 
@@ -199,6 +216,7 @@ public class SpiritlingService {
         
         spiritling.setCurrentAction(task);
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         
         String taskName = switch (task) {
             case "idle" -> "자유 행동";
@@ -224,6 +242,8 @@ public class SpiritlingService {
             throw new RuntimeException("마정령을 찾을 수 없습니다.");
         }
         
+        // lazy 모드: 행동을 적용하기 전에 경과 시간만큼 상태를 반영
+        simulationService.materialize(spiritling);
         return spiritling;
     }
     
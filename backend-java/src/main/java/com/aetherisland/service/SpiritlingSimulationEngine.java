@@ -0,0 +1,338 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.repository.SpiritlingRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+/**
+ * 전체 정령 시뮬레이션 엔진
+ * id 키셋 순서로 페이지를 읽어 워커 풀에 분배하고, 페이지마다 짧은 트랜잭션으로 JDBC 배치 업데이트
+ * 클러스터 모드에서는 이 노드가 임대한 파티션의 정령만 처리하고, 처리 중에는 파티션 반납을 미룸
+ * 페이지를 기록하기 직전에 임대를 다시 확인해, 그 사이 임대가 만료된 페이지는 기록하지 않음
+ * kernel이 남긴 행동 로그는 페이지별로 모아 정령 업데이트와 같은 트랜잭션에서 배치 INSERT
+ * kernel이 남긴 골드는 페이지 트랜잭션이 커밋된 뒤에만 CoinLedger에 넘김 (실패한 페이지는 지급하지 않음)
+ */
+@Component
+public class SpiritlingSimulationEngine {
+    private static final String UPDATE_SQL =
+        "UPDATE spiritlings SET growth_stage = ?, level = ?, experience = ?, " +
+        "health_stat = ?, agility_stat = ?, intelligence_stat = ?, friendliness_stat = ?, " +
+        "resilience_stat = ?, luck_stat = ?, hunger = ?, happiness = ?, energy = ?, " +
+        "health_status = ?, cleanliness = ?, updated_at = ?, simulated_at = ? WHERE id = ?";
+    private static final String FENCED_UPDATE_SQL = UPDATE_SQL + SimulationLeaseManager.FENCE_SQL;
+    
+    private final SpiritlingRepository spiritlingRepository;
+    private final SimulationLeaseManager leaseManager;
+    private final LeaderboardService leaderboardService;
+    private final CoinLedger coinLedger;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int maxPagesInFlight;
+    private final ExecutorService workers;
+    
+    public SpiritlingSimulationEngine(
+        SpiritlingRepository spiritlingRepository,
+        SimulationLeaseManager leaseManager,
+        LeaderboardService leaderboardService,
+        CoinLedger coinLedger,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Value("${simulation.page-size:500}") int pageSize,
+        @Value("${simulation.parallelism:0}") int parallelism
+    ) {
+        this.spiritlingRepository = spiritlingRepository;
+        this.leaseManager = leaseManager;
+        this.leaderboardService = leaderboardService;
+        this.coinLedger = coinLedger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        // 읽기가 처리보다 빨라도 메모리에 올라가는 페이지 수는 워커 수의 2배로 제한
+        this.maxPagesInFlight = threads * 2;
+        
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        this.workers = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "spiritling-sim-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+    
+    /**
+     * 모든 정령에 kernel을 적용
+     * @param kernel 정령 상태를 변경하고(행동 로그·골드는 두 번째 인자로 전달), DB에 기록해야 하면 true를 반환
+     * @return 처리 결과 요약
+     */
+    public TickResult run(BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel) {
+        leaseManager.beginTick();
+        try {
+            return runOwned(kernel);
+        } finally {
+            leaseManager.endTick();
+        }
+    }
+    
+    /**
+     * 지정한 정령들에만 kernel을 적용 (lazy 모드에서 타이머가 만료된 정령 처리)
+     * @param ids 처리할 정령 id (삭제된 정령은 건너뜀)
+     */
+    public TickResult run(List<String> ids, BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel) {
+        leaseManager.beginTick();
+        try {
+            return runIds(ids, kernel);
+        } finally {
+            leaseManager.endTick();
+        }
+    }
+    
+    /**
+     * 이미 불러온 정령들을 페이지 크기 단위로 나눠 kernel을 적용하고 페이지마다 한 트랜잭션으로 기록
+     */
+    public TickResult process(List<Spiritling> spiritlings,
+                              BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel) {
+        leaseManager.beginTick();
+        try {
+            return processLoaded(spiritlings, kernel);
+        } finally {
+            leaseManager.endTick();
+        }
+    }
+    
+    private TickResult runOwned(BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel) {
+        long startedAt = System.currentTimeMillis();
+        Semaphore inFlight = new Semaphore(maxPagesInFlight);
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger flushed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int pages = 0;
+        String afterId = "";
+        Set<Integer> partitions = leaseManager.isEnabled() ? leaseManager.ownedPartitions() : null;
+        if (partitions != null && partitions.isEmpty()) {
+            return new TickResult(0, 0, 0, 0, System.currentTimeMillis() - startedAt);
+        }
+        
+        while (true) {
+            inFlight.acquireUninterruptibly();
+            List<Spiritling> page;
+            try {
+                page = partitions == null
+                    ? spiritlingRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize))
+                    : spiritlingRepository.findBySimPartitionInAndIdGreaterThanOrderByIdAsc(partitions, afterId,
+                        Limit.of(pageSize));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            if (page.isEmpty()) {
+                inFlight.release();
+                break;
+            }
+            
+            afterId = page.get(page.size() - 1).getId();
+            pages++;
+            dispatch(page, kernel, inFlight, processed, flushed, failed);
+            
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        
+        awaitPages(inFlight);
+        return new TickResult(processed.get(), flushed.get(), failed.get(), pages,
+            System.currentTimeMillis() - startedAt);
+    }
+    
+    private TickResult runIds(List<String> ids, BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel) {
+        long startedAt = System.currentTimeMillis();
+        Semaphore inFlight = new Semaphore(maxPagesInFlight);
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger flushed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int pages = 0;
+        
+        for (int from = 0; from < ids.size(); from += pageSize) {
+            List<String> pageIds = ids.subList(from, Math.min(ids.size(), from + pageSize));
+            inFlight.acquireUninterruptibly();
+            List<Spiritling> page;
+            try {
+                page = new ArrayList<>(spiritlingRepository.findAllById(pageIds));
+                if (leaseManager.isEnabled()) {
+                    // 파티션을 넘겨준 뒤 남아 있던 타이머는 건너뜀
+                    page.removeIf(spiritling -> !leaseManager.owns(spiritling));
+                }
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            pages++;
+            dispatch(page, kernel, inFlight, processed, flushed, failed);
+        }
+        
+        awaitPages(inFlight);
+        return new TickResult(processed.get(), flushed.get(), failed.get(), pages,
+            System.currentTimeMillis() - startedAt);
+    }
+    
+    private TickResult processLoaded(List<Spiritling> spiritlings,
+                                     BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel) {
+        long startedAt = System.currentTimeMillis();
+        Semaphore inFlight = new Semaphore(maxPagesInFlight);
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger flushed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int pages = 0;
+        
+        for (int from = 0; from < spiritlings.size(); from += pageSize) {
+            inFlight.acquireUninterruptibly();
+            pages++;
+            dispatch(spiritlings.subList(from, Math.min(spiritlings.size(), from + pageSize)), kernel, inFlight,
+                processed, flushed, failed);
+        }
+        
+        awaitPages(inFlight);
+        return new TickResult(processed.get(), flushed.get(), failed.get(), pages,
+            System.currentTimeMillis() - startedAt);
+    }
+    
+    private void dispatch(List<Spiritling> page, BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel,
+                          Semaphore inFlight, AtomicInteger processed, AtomicInteger flushed, AtomicInteger failed) {
+        workers.execute(() -> {
+            try {
+                processPage(page, kernel, processed, flushed, failed);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+    
+    private void awaitPages(Semaphore inFlight) {
+        // 진행 중인 페이지가 모두 끝날 때까지 대기
+        inFlight.acquireUninterruptibly(maxPagesInFlight);
+        inFlight.release(maxPagesInFlight);
+    }
+    
+    private void processPage(List<Spiritling> page, BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel,
+                             AtomicInteger processed, AtomicInteger flushed, AtomicInteger failed) {
+        List<Spiritling> changed = new ArrayList<>(page.size());
+        ActionLogBuffer logs = new ActionLogBuffer();
+        for (Spiritling spiritling : page) {
+            try {
+                if (kernel.test(spiritling, logs)) {
+                    changed.add(spiritling);
+                    logs.keep();
+                } else {
+                    logs.discard();
+                }
+                processed.incrementAndGet();
+            } catch (Exception e) {
+                // 중간에 실패한 정령이 남긴 로그·골드는 기록하지 않음
+                logs.discard();
+                failed.incrementAndGet();
+                System.err.println("Error simulating spiritling " + spiritling.getId() + ": " + e.getMessage());
+            }
+        }
+        
+        if (changed.isEmpty()) {
+            return;
+        }
+        // 처리하는 동안 임대가 만료됐거나 노드가 종료되면 다른 노드가 이미 가져갔을 수 있으므로 기록하지 않음
+        // (틱 도중의 반납은 틱이 끝날 때까지 미뤄지므로 여기서 걸리는 것은 만료·종료뿐)
+        if (leaseManager.isEnabled() && !changed.stream().allMatch(leaseManager::owns)) {
+            failed.addAndGet(changed.size());
+            System.out.println("⚠️ 시뮬레이션 임대를 잃어 페이지 기록을 건너뜁니다: " + changed.get(0).getId() + " 이후 "
+                + changed.size() + "개");
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                flush(changed);
+                logs.insert(jdbcTemplate);
+            });
+            flushed.addAndGet(changed.size());
+            logs.creditGold(coinLedger);
+            leaderboardService.onSpiritlingsChanged(changed);
+        } catch (Exception e) {
+            // 페이지 단위로 실패를 격리 (다른 페이지는 계속 진행)
+            failed.addAndGet(changed.size());
+            System.err.println("Error flushing simulation page after " + changed.get(0).getId() + ": " + e.getMessage());
+        }
+    }
+    
+    private void flush(List<Spiritling> changed) {
+        boolean fenced = leaseManager.isEnabled();
+        String sql = fenced ? FENCED_UPDATE_SQL : UPDATE_SQL;
+        int[][] updated = jdbcTemplate.batchUpdate(sql, changed, changed.size(), (ps, s) -> {
+            ps.setString(1, s.getGrowthStage());
+            ps.setObject(2, s.getLevel());
+            ps.setObject(3, s.getExperience());
+            ps.setObject(4, s.getHealthStat());
+            ps.setObject(5, s.getAgilityStat());
+            ps.setObject(6, s.getIntelligenceStat());
+            ps.setObject(7, s.getFriendlinessStat());
+            ps.setObject(8, s.getResilienceStat());
+            ps.setObject(9, s.getLuckStat());
+            ps.setObject(10, s.getHunger());
+            ps.setObject(11, s.getHappiness());
+            ps.setObject(12, s.getEnergy());
+            ps.setObject(13, s.getHealthStatus());
+            ps.setObject(14, s.getCleanliness());
+            ps.setObject(15, s.getUpdatedAt());
+            ps.setObject(16, s.getSimulatedAt());
+            ps.setString(17, s.getId());
+            if (fenced) {
+                ps.setString(18, leaseManager.getNodeId());
+            }
+        });
+        // DB 시각 기준으로 임대가 끝난 행이 있으면 다른 노드가 이미 가져갔을 수 있으므로 페이지 전체를 롤백
+        if (fenced) {
+            for (int[] batch : updated) {
+                for (int count : batch) {
+                    if (count == 0) {
+                        throw new IllegalStateException("시뮬레이션 임대가 만료되어 페이지를 기록하지 않습니다.");
+                    }
+                }
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public record TickResult(int processed, int flushed, int failed, int pages, long elapsedMillis) {
+    }
+}
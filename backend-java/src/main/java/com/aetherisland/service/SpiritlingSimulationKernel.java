@@ -0,0 +1,220 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간 경과에 따른 정령 상태 변화 계산
+ * 저장소에 접근하지 않으므로 주기 시뮬레이션과 조회 시점 계산(lazy 모드)에서 함께 사용
+ */
+@Component
+public class SpiritlingSimulationKernel {
+    
+    /**
+     * 개별 정령 시뮬레이션
+     * @param spiritling 시뮬레이션할 정령
+     * @param minutes 경과한 시간 (분)
+     * @return 농장일로 획득한 골드 (유저 코인 반영은 호출한 쪽에서 처리)
+     */
+    public int simulate(Spiritling spiritling, int minutes) {
+        return simulate(spiritling, 0, minutes);
+    }
+    
+    /**
+     * fromMinute부터 minutes분 경과를 적용
+     * "N분당 1" 변화는 fromMinute부터 센 N분 경계를 넘은 횟수만큼 적용하므로, 이어지는 구간으로 나눠 적용해도 합이 같음
+     * @param fromMinute 구간 시작 (에포크 기준 분, lazy 모드의 기준 시각)
+     */
+    public int simulate(Spiritling spiritling, long fromMinute, int minutes) {
+        if (minutes <= 0) return 0;
+        
+        int goldEarned = 0;
+        
+        // 기본 상태 감소 (시간 경과에 따라)
+        int hungerDecrease = per(fromMinute, minutes, 10); // 10분당 배고픔 -1
+        int energyDecrease = per(fromMinute, minutes, 15); // 15분당 에너지 -1
+        int happinessDecrease = per(fromMinute, minutes, 20); // 20분당 행복도 -1
+        int cleanlinessDecrease = per(fromMinute, minutes, 30); // 30분당 청결도 -1
+        
+        spiritling.setHunger(Math.max(0, spiritling.getHunger() - hungerDecrease));
+        spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - energyDecrease));
+        spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - happinessDecrease));
+        spiritling.setCleanliness(Math.max(0, spiritling.getCleanliness() - cleanlinessDecrease));
+        
+        // 현재 작업에 따른 효과
+        String currentAction = spiritling.getCurrentAction() != null ? spiritling.getCurrentAction() : "idle";
+        
+        switch (currentAction) {
+            case "training":
+                // 훈련: 경험치 증가, 피로도 증가, 능력치 약간 증가
+                spiritling.setExperience(spiritling.getExperience() + minutes * 2);
+                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - per(fromMinute, minutes, 2)));
+                spiritling.setHunger(Math.max(0, spiritling.getHunger() - per(fromMinute, minutes, 8)));
+                break;
+            
+            case "resting":
+                // 휴식: 에너지 회복, 체력 회복, 피로도 감소
+                spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + per(fromMinute, minutes, 3)));
+                spiritling.setHealthStatus(Math.min(100, spiritling.getHealthStatus() + per(fromMinute, minutes, 5)));
+                spiritling.setHunger(Math.max(0, spiritling.getHunger() - per(fromMinute, minutes, 15)));
+                break;
+            
+            case "farming":
+                // 농장일: 경험치 증가, 피로도 증가, 골드 획득
+                spiritling.setExperience(spiritling.getExperience() + minutes);
+                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - per(fromMinute, minutes, 3)));
+                spiritling.setHunger(Math.max(0, spiritling.getHunger() - per(fromMinute, minutes, 5)));
+                
+                // 골드 획득 (5분당 1골드)
+                goldEarned = per(fromMinute, minutes, 5);
+                break;
+            
+            case "exploring":
+                // 탐험: 경험치 증가, 에너지 소모
+                spiritling.setExperience(spiritling.getExperience() + minutes * 3);
+                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - per(fromMinute, minutes, 2)));
+                spiritling.setHunger(Math.max(0, spiritling.getHunger() - per(fromMinute, minutes, 8)));
+                break;
+            
+            case "playing":
+                // 놀기: 행복도 증가, 에너지 소모
+                spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + per(fromMinute, minutes, 5)));
+                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - per(fromMinute, minutes, 4)));
+                spiritling.setExperience(spiritling.getExperience() + minutes);
+                break;
+            
+            case "idle":
+            default:
+                // 자유 행동: 자연스러운 상태 변화
+                if (spiritling.getHunger() < 50 && spiritling.getEnergy() > 50) {
+                    // 배고프면 자동으로 음식 찾기 (배고픔 회복)
+                    spiritling.setHunger(Math.min(100, spiritling.getHunger() + per(fromMinute, minutes, 10)));
+                }
+                if (spiritling.getEnergy() < 30) {
+                    // 피곤하면 자동으로 쉬기 (에너지 회복)
+                    spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + per(fromMinute, minutes, 5)));
+                }
+                break;
+        }
+        
+        // 성격에 따른 추가 효과
+        applyPersonalityEffects(spiritling, fromMinute, minutes, currentAction);
+        
+        // 레벨업 체크
+        checkLevelUp(spiritling);
+        
+        // 업데이트 시간 갱신
+        spiritling.setUpdatedAt(LocalDateTime.now());
+        
+        return goldEarned;
+    }
+    
+    /**
+     * 성격에 따른 추가 효과
+     */
+    public void applyPersonalityEffects(Spiritling spiritling, int minutes, String action) {
+        applyPersonalityEffects(spiritling, 0, minutes, action);
+    }
+    
+    private void applyPersonalityEffects(Spiritling spiritling, long fromMinute, int minutes, String action) {
+        String personality = spiritling.getPersonality() != null ? spiritling.getPersonality() : "normal";
+        
+        switch (personality) {
+            case "hard_worker":
+                // 근면한: 훈련/농장일 시 경험치 +20%, 피로도 +30%
+                if ("training".equals(action) || "farming".equals(action)) {
+                    spiritling.setExperience(spiritling.getExperience() + per(fromMinute, minutes, 5));
+                    spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - per(fromMinute, minutes, 3)));
+                }
+                break;
+            
+            case "lazy":
+                // 게으른: 휴식 시 더 빠른 회복, 훈련 시 느린 경험치 획득
+                if ("resting".equals(action)) {
+                    spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + per(fromMinute, minutes, 2)));
+                } else if ("training".equals(action)) {
+                    spiritling.setExperience(spiritling.getExperience() + per(fromMinute, minutes, 3));
+                }
+                break;
+            
+            case "glutton":
+                // 탐욕: 배고픔 빨리 감소, 음식 먹으면 행복도 많이 증가
+                spiritling.setHunger(Math.max(0, spiritling.getHunger() - per(fromMinute, minutes, 7)));
+                if (spiritling.getHunger() > 70) {
+                    spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + per(fromMinute, minutes, 15)));
+                }
+                break;
+            
+            case "loner":
+                // 외톨이: 다른 정령 근처에서 행복도 감소 (현재는 단순 처리)
+                if (!"idle".equals(action)) {
+                    spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - per(fromMinute, minutes, 30)));
+                }
+                break;
+            
+            case "playful":
+                // 장난꾸러기: 놀기 시 행복도 +50%, 다른 활동 시 행복도 감소
+                if ("playing".equals(action)) {
+                    spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + per(fromMinute, minutes, 3)));
+                } else if (!"idle".equals(action)) {
+                    spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - per(fromMinute, minutes, 40)));
+                }
+                break;
+        }
+    }
+    
+    /**
+     * fromMinute부터 minutes분 동안 넘은 unit분 경계 수 (fromMinute = 0이면 minutes / unit)
+     */
+    private static int per(long fromMinute, int minutes, int unit) {
+        return (int) (Math.floorDiv(fromMinute + minutes, unit) - Math.floorDiv(fromMinute, unit));
+    }
+    
+    /**
+     * 레벨업 체크 및 처리
+     */
+    public void checkLevelUp(Spiritling spiritling) {
+        int requiredExp = spiritling.getLevel() * 100;
+        
+        while (spiritling.getExperience() >= requiredExp) {
+            spiritling.setExperience(spiritling.getExperience() - requiredExp);
+            spiritling.setLevel(spiritling.getLevel() + 1);
+            
+            // 레벨업 시 모든 스탯 증가
+            spiritling.setHealthStat(Math.min(100, spiritling.getHealthStat() + 1));
+            spiritling.setAgilityStat(Math.min(100, spiritling.getAgilityStat() + 1));
+            spiritling.setIntelligenceStat(Math.min(100, spiritling.getIntelligenceStat() + 1));
+            spiritling.setFriendlinessStat(Math.min(100, spiritling.getFriendlinessStat() + 1));
+            spiritling.setResilienceStat(Math.min(100, spiritling.getResilienceStat() + 1));
+            spiritling.setLuckStat(Math.min(100, spiritling.getLuckStat() + 1));
+            
+            // 성장 단계 업데이트
+            updateGrowthStage(spiritling);
+            
+            requiredExp = spiritling.getLevel() * 100; // 다음 레벨 필요 경험치
+        }
+    }
+    
+    /**
+     * 성장 단계 업데이트
+     */
+    public void updateGrowthStage(Spiritling spiritling) {
+        int level = spiritling.getLevel();
+        
+        if (level >= 50) {
+            spiritling.setGrowthStage("elder");
+        } else if (level >= 40) {
+            spiritling.setGrowthStage("transcendent");
+        } else if (level >= 25) {
+            spiritling.setGrowthStage("adult");
+        } else if (level >= 15) {
+            spiritling.setGrowthStage("adolescent");
+        } else if (level >= 5) {
+            spiritling.setGrowthStage("infant");
+        } else {
+            spiritling.setGrowthStage("egg");
+        }
+    }
+}
@@ -1,256 +1,354 @@
 package com.aetherisland.service;
 
 import com.aetherisland.entity.Spiritling;
-import com.aetherisland.entity.User;
 import com.aetherisland.repository.SpiritlingRepository;
 import com.aetherisland.repository.UserRepository;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiPredicate;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
 
 @Service
 public class SpiritlingSimulationService {
+    private static final int MAX_SIMULATED_MINUTES = 1440; // 최대 24시간
     
     private final SpiritlingRepository spiritlingRepository;
     private final UserRepository userRepository;
+    private final SpiritlingSimulationEngine simulationEngine;
+    private final SpiritlingSimulationKernel simulationKernel;
+    private final CoinLedger coinLedger;
+    private final SpiritlingHotStore hotStore;
+    private final SpiritlingEventScheduler eventScheduler;
+    private final SimulationLeaseManager leaseManager;
+    private final SimulationTickRecorder tickRecorder;
+    private final LeaderboardService leaderboardService;
+    private final boolean lazyMode;
     
-    public SpiritlingSimulationService(SpiritlingRepository spiritlingRepository, UserRepository userRepository) {
+    public SpiritlingSimulationService(SpiritlingRepository spiritlingRepository, UserRepository userRepository,
+                                       SpiritlingSimulationEngine simulationEngine,
+                                       SpiritlingSimulationKernel simulationKernel,
+                                       CoinLedger coinLedger,
+                                       SpiritlingHotStore hotStore,
+                                       SpiritlingEventScheduler eventScheduler,
+                                       SimulationLeaseManager leaseManager,
+                                       SimulationTickRecorder tickRecorder,
+                                       LeaderboardService leaderboardService,
+                                       @Value("${simulation.mode:tick}") String mode) {
         this.spiritlingRepository = spiritlingRepository;
         this.userRepository = userRepository;
+        this.simulationEngine = simulationEngine;
+        this.simulationKernel = simulationKernel;
+        this.coinLedger = coinLedger;
+        this.hotStore = hotStore;
+        this.eventScheduler = eventScheduler;
+        this.leaseManager = leaseManager;
+        this.tickRecorder = tickRecorder;
+        this.leaderboardService = leaderboardService;
+        this.lazyMode = "lazy".equals(mode);
     }
     
     /**
-     * 모든 유저의 정령들을 시뮬레이션
-     * 5분마다 실행
+     * 모든 유저의 정령들을 시뮬레이션 (SpiritlingTickScheduler가 주기적으로 호출)
+     * 정령마다 시간 경과(5분)를 적용한 뒤 behaviour(자율 행동 AI 등)를 같은 패스에서 적용
+     * lazy 모드에서는 behaviour가 상태를 바꿨거나 레벨업·상태 바닥(0) 같은 임계값을 넘은 정령만 기록
+     * 첫 틱 이후에는 다음 이벤트 타이머가 만료된 정령만 처리
+     * 농장일 골드는 페이지가 커밋된 뒤 장부에 모았다가 회차 종료 시 유저당 한 번만 반영
+     * 정령마다 틱 시드와 id로 만든 난수열을 behaviour에 넘기므로 같은 시드로 재현 가능
+     * @param tickSeed 이번 틱의 난수 시드 (기록 파일에 남아 SimulationReplay로 재현)
+     * @param behaviour 시간 경과 후 적용할 행동, 상태를 바꿨으면 true를 반환
      */
-    @Scheduled(fixedRate = 300000) // 5분 = 300000ms
-    @Async
-    public void simulateAllSpiritlings() {
-        List<Spiritling> allSpiritlings = spiritlingRepository.findAll();
+    public SpiritlingSimulationEngine.TickResult simulateAllSpiritlings(long tickSeed, Behaviour behaviour) {
+        // 틱 안의 모든 정령을 같은 시각 기준으로 계산
+        LocalDateTime tickNow = LocalDateTime.now();
+        SimulationTickRecorder.Recording recording = tickRecorder.begin(tickSeed, lazyMode ? "lazy" : "tick");
         
-        for (Spiritling spiritling : allSpiritlings) {
-            try {
-                simulateSpiritling(spiritling, 5); // 5분 경과
-            } catch (Exception e) {
-                System.err.println("Error simulating spiritling " + spiritling.getId() + ": " + e.getMessage());
+        BiPredicate<Spiritling, SpiritlingAIKernel.ActionLogSink> kernel = (spiritling, logs) -> {
+            SplittableRandom random = SimulationRandom.forSpiritling(tickSeed, spiritling.getId());
+            if (lazyMode) {
+                return materializeIf(spiritling, recorded(spiritling, projected ->
+                    behaviour.act(projected, random, logs) || crossesThreshold(spiritling, projected),
+                    recording, tickNow), logs::creditGold, tickNow);
+            }
+            Spiritling before = recording != null ? copyState(spiritling, new Spiritling()) : null;
+            simulateSpiritling(spiritling, 5, logs::creditGold); // 5분 경과
+            spiritling.setSimulatedAt(spiritling.getUpdatedAt());
+            behaviour.act(spiritling, random, logs);
+            if (recording != null) {
+                recording.record(0, 5, before, spiritling);
+            }
+            return true;
+        };
+        
+        SpiritlingSimulationEngine.TickResult result;
+        long ownershipVersion = leaseManager.ownershipVersion();
+        if (lazyMode && eventScheduler.isPrimed(ownershipVersion)) {
+            result = simulationEngine.run(eventScheduler.advance(), kernel);
+        } else {
+            result = simulationEngine.run(kernel);
+            if (lazyMode) {
+                eventScheduler.markPrimed(ownershipVersion);
             }
         }
+        int creditedUsers = coinLedger.flush();
+        if (recording != null) {
+            recording.close();
+        }
         
-        spiritlingRepository.saveAll(allSpiritlings);
-        System.out.println("✅ 정령 시뮬레이션 완료: " + allSpiritlings.size() + "개 정령 처리");
+        System.out.println("✅ 정령 시뮬레이션 완료: " + result.processed() + "개 정령 처리 ("
+            + result.pages() + "페이지, 기록 " + result.flushed() + "개, 실패 " + result.failed() + "개, "
+            + "골드 지급 " + creditedUsers + "명, " + result.elapsedMillis() + "ms)");
+        return result;
     }
     
     /**
      * 특정 유저의 정령들을 시뮬레이션 (로그인 시 호출)
      * 마지막 업데이트 시간부터 현재까지 경과한 시간만큼 시뮬레이션
+     * lazy 모드에서는 조회 시점에 계산하므로 기록하지 않음
      */
     public void simulateUserSpiritlings(String userId) {
+        if (lazyMode) {
+            return;
+        }
+        
         List<Spiritling> userSpiritlings = spiritlingRepository.findByUserId(userId);
         LocalDateTime now = LocalDateTime.now();
+        int[] goldEarned = new int[1];
         
         for (Spiritling spiritling : userSpiritlings) {
-            LocalDateTime lastUpdated = spiritling.getUpdatedAt() != null 
-                ? spiritling.getUpdatedAt() 
+            LocalDateTime lastUpdated = spiritling.getUpdatedAt() != null
+                ? spiritling.getUpdatedAt()
                 : spiritling.getCreatedAt();
             
             long minutesPassed = Duration.between(lastUpdated, now).toMinutes();
             if (minutesPassed > 0) {
-                simulateSpiritling(spiritling, (int) Math.min(minutesPassed, 1440)); // 최대 24시간
+                simulateSpiritling(spiritling, (int) Math.min(minutesPassed, MAX_SIMULATED_MINUTES),
+                    (owner, gold) -> goldEarned[0] += gold);
+                spiritling.setSimulatedAt(now);
             }
         }
         
         spiritlingRepository.saveAll(userSpiritlings);
+        hotStore.offerAll(userSpiritlings);
+        leaderboardService.onSpiritlingsChanged(userSpiritlings);
+        creditGold(userId, goldEarned[0]);
     }
     
     /**
-     * 개별 정령 시뮬레이션
-     * @param spiritling 시뮬레이션할 정령
-     * @param minutes 경과한 시간 (분)
+     * 조회용 현재 상태 계산 (lazy 모드)
+     * 기준 시각부터 경과한 시간을 적용한 사본을 반환하며, 원본과 DB는 변경하지 않음
+     * tick 모드에서는 원본을 그대로 반환
      */
-    private void simulateSpiritling(Spiritling spiritling, int minutes) {
-        if (minutes <= 0) return;
-        
-        // 기본 상태 감소 (시간 경과에 따라)
-        int hungerDecrease = minutes / 10; // 10분당 배고픔 -1
-        int energyDecrease = minutes / 15; // 15분당 에너지 -1
-        int happinessDecrease = minutes / 20; // 20분당 행복도 -1
-        int cleanlinessDecrease = minutes / 30; // 30분당 청결도 -1
-        
-        spiritling.setHunger(Math.max(0, spiritling.getHunger() - hungerDecrease));
-        spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - energyDecrease));
-        spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - happinessDecrease));
-        spiritling.setCleanliness(Math.max(0, spiritling.getCleanliness() - cleanlinessDecrease));
-        
-        // 현재 작업에 따른 효과
-        String currentAction = spiritling.getCurrentAction() != null ? spiritling.getCurrentAction() : "idle";
-        
-        switch (currentAction) {
-            case "training":
-                // 훈련: 경험치 증가, 피로도 증가, 능력치 약간 증가
-                spiritling.setExperience(spiritling.getExperience() + minutes * 2);
-                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - minutes / 2));
-                spiritling.setHunger(Math.max(0, spiritling.getHunger() - minutes / 8));
-                break;
-                
-            case "resting":
-                // 휴식: 에너지 회복, 체력 회복, 피로도 감소
-                spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + minutes / 3));
-                spiritling.setHealthStatus(Math.min(100, spiritling.getHealthStatus() + minutes / 5));
-                spiritling.setHunger(Math.max(0, spiritling.getHunger() - minutes / 15));
-                break;
-                
-            case "farming":
-                // 농장일: 경험치 증가, 피로도 증가, 골드 획득
-                spiritling.setExperience(spiritling.getExperience() + minutes);
-                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - minutes / 3));
-                spiritling.setHunger(Math.max(0, spiritling.getHunger() - minutes / 5));
-                
-                // 골드 획득 (5분당 1골드)
-                User user = userRepository.findById(spiritling.getUserId()).orElse(null);
-                if (user != null) {
-                    int goldEarned = minutes / 5; // 5분당 1골드
-                    user.setCoins(user.getCoins() + goldEarned);
-                    userRepository.save(user);
-                }
-                break;
-                
-            case "exploring":
-                // 탐험: 경험치 증가, 에너지 소모
-                spiritling.setExperience(spiritling.getExperience() + minutes * 3);
-                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - minutes / 2));
-                spiritling.setHunger(Math.max(0, spiritling.getHunger() - minutes / 8));
-                break;
-                
-            case "playing":
-                // 놀기: 행복도 증가, 에너지 소모
-                spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + minutes / 5));
-                spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - minutes / 4));
-                spiritling.setExperience(spiritling.getExperience() + minutes);
-                break;
-                
-            case "idle":
-            default:
-                // 자유 행동: 자연스러운 상태 변화
-                if (spiritling.getHunger() < 50 && spiritling.getEnergy() > 50) {
-                    // 배고프면 자동으로 음식 찾기 (배고픔 회복)
-                    spiritling.setHunger(Math.min(100, spiritling.getHunger() + minutes / 10));
-                }
-                if (spiritling.getEnergy() < 30) {
-                    // 피곤하면 자동으로 쉬기 (에너지 회복)
-                    spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + minutes / 5));
-                }
-                break;
+    public Spiritling project(Spiritling spiritling) {
+        if (!lazyMode) {
+            return spiritling;
         }
         
-        // 성격에 따른 추가 효과
-        applyPersonalityEffects(spiritling, minutes, currentAction);
-        
-        // 레벨업 체크
-        checkLevelUp(spiritling);
+        LocalDateTime now = LocalDateTime.now();
+        int minutes = minutesSinceAnchor(spiritling, now);
+        if (minutes <= 0) {
+            return spiritling;
+        }
         
-        // 업데이트 시간 갱신
-        spiritling.setUpdatedAt(LocalDateTime.now());
+        Spiritling projected = copyState(spiritling, new Spiritling());
+        simulationKernel.simulate(projected, epochMinute(now) - minutes, minutes);
+        return projected;
     }
     
     /**
-     * 성격에 따른 추가 효과
+     * 기준 시각부터 현재까지의 변화를 정령에 반영하고 기준 시각을 갱신 (lazy 모드)
+     * 변화는 분 경계 단위로 세므로 기준 시각을 현재로 옮겨도 나머지 시간이 버려지지 않음
+     * 유저 행동 등으로 정령을 저장하기 직전에, 정령을 저장하는 트랜잭션 안에서 호출
+     * 골드는 같은 트랜잭션에서 지급하므로 정령 저장이 롤백되면 함께 취소됨
      */
-    private void applyPersonalityEffects(Spiritling spiritling, int minutes, String action) {
-        String personality = spiritling.getPersonality() != null ? spiritling.getPersonality() : "normal";
+    public void materialize(Spiritling spiritling) {
+        if (!lazyMode) {
+            return;
+        }
         
-        switch (personality) {
-            case "hard_worker":
-                // 근면한: 훈련/농장일 시 경험치 +20%, 피로도 +30%
-                if ("training".equals(action) || "farming".equals(action)) {
-                    spiritling.setExperience(spiritling.getExperience() + minutes / 5);
-                    spiritling.setEnergy(Math.max(0, spiritling.getEnergy() - minutes / 3));
-                }
-                break;
-                
-            case "lazy":
-                // 게으른: 휴식 시 더 빠른 회복, 훈련 시 느린 경험치 획득
-                if ("resting".equals(action)) {
-                    spiritling.setEnergy(Math.min(100, spiritling.getEnergy() + minutes / 2));
-                } else if ("training".equals(action)) {
-                    spiritling.setExperience(spiritling.getExperience() + minutes / 3);
-                }
-                break;
-                
-            case "glutton":
-                // 탐욕: 배고픔 빨리 감소, 음식 먹으면 행복도 많이 증가
-                spiritling.setHunger(Math.max(0, spiritling.getHunger() - minutes / 7));
-                if (spiritling.getHunger() > 70) {
-                    spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + minutes / 15));
-                }
-                break;
-                
-            case "loner":
-                // 외톨이: 다른 정령 근처에서 행복도 감소 (현재는 단순 처리)
-                if (!"idle".equals(action)) {
-                    spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - minutes / 30));
-                }
-                break;
-                
-            case "playful":
-                // 장난꾸러기: 놀기 시 행복도 +50%, 다른 활동 시 행복도 감소
-                if ("playing".equals(action)) {
-                    spiritling.setHappiness(Math.min(100, spiritling.getHappiness() + minutes / 3));
-                } else if (!"idle".equals(action)) {
-                    spiritling.setHappiness(Math.max(0, spiritling.getHappiness() - minutes / 40));
-                }
-                break;
+        LocalDateTime now = LocalDateTime.now();
+        int minutes = minutesSinceAnchor(spiritling, now);
+        if (minutes > 0) {
+            creditGoldOnCommit(spiritling.getUserId(),
+                simulationKernel.simulate(spiritling, epochMinute(now) - minutes, minutes));
         }
+        spiritling.setSimulatedAt(now);
     }
     
     /**
-     * 레벨업 체크 및 처리
+     * 현재 상태를 계산한 사본에 change를 시험 적용하고, true를 반환한 경우에만 정령에 반영 (lazy 모드)
+     * 변화가 없으면 정령을 건드리지 않으므로 DB 기록도 발생하지 않음
+     * @param logs 골드를 넘길 곳 (엔진 페이지 버퍼: 페이지가 커밋된 뒤에 지급)
+     * @return 정령에 반영했으면 true
      */
-    private void checkLevelUp(Spiritling spiritling) {
-        int requiredExp = spiritling.getLevel() * 100;
+    public boolean materializeIf(Spiritling spiritling, Predicate<Spiritling> change,
+                                 SpiritlingAIKernel.ActionLogSink logs) {
+        return materializeIf(spiritling, change, logs, null);
+    }
+    
+    /**
+     * 적용한 경과 시간과 처리 전/후 상태를 recording에 남기는 materializeIf (recording이 null이면 남기지 않음)
+     */
+    public boolean materializeIf(Spiritling spiritling, Predicate<Spiritling> change,
+                                 SpiritlingAIKernel.ActionLogSink logs, SimulationTickRecorder.Recording recording) {
+        LocalDateTime now = LocalDateTime.now();
+        return materializeIf(spiritling, recorded(spiritling, change, recording, now), logs::creditGold, now);
+    }
+    
+    /**
+     * API에서 정령 상태를 바꿔 저장한 뒤 호출
+     * columnar 모드에서는 메모리 저장소에 반영하고, lazy 모드에서는 다음 이벤트를 다시 예약
+     * 레벨·스탯·정령 수가 바뀌었을 수 있으므로 랭킹 인덱스도 갱신
+     * 트랜잭션 안에서 호출하면 커밋된 뒤에 반영
+     */
+    public void onChanged(Spiritling spiritling) {
+        AfterCommit.run(() -> {
+            hotStore.offer(spiritling);
+            eventScheduler.reschedule(spiritling);
+            leaderboardService.onSpiritlingChanged(spiritling);
+        });
+    }
+    
+    public boolean isLazyMode() {
+        return lazyMode;
+    }
+    
+    private boolean materializeIf(Spiritling spiritling, Predicate<Spiritling> change,
+                                  ObjIntConsumer<String> goldSink, LocalDateTime now) {
+        Spiritling working = copyState(spiritling, new Spiritling());
+        int minutes = minutesSinceAnchor(spiritling, now);
+        int goldEarned = simulationKernel.simulate(working, epochMinute(now) - minutes, minutes);
         
-        while (spiritling.getExperience() >= requiredExp) {
-            spiritling.setExperience(spiritling.getExperience() - requiredExp);
-            spiritling.setLevel(spiritling.getLevel() + 1);
-            
-            // 레벨업 시 모든 스탯 증가
-            spiritling.setHealthStat(Math.min(100, spiritling.getHealthStat() + 1));
-            spiritling.setAgilityStat(Math.min(100, spiritling.getAgilityStat() + 1));
-            spiritling.setIntelligenceStat(Math.min(100, spiritling.getIntelligenceStat() + 1));
-            spiritling.setFriendlinessStat(Math.min(100, spiritling.getFriendlinessStat() + 1));
-            spiritling.setResilienceStat(Math.min(100, spiritling.getResilienceStat() + 1));
-            spiritling.setLuckStat(Math.min(100, spiritling.getLuckStat() + 1));
-            
-            // 성장 단계 업데이트
-            updateGrowthStage(spiritling);
-            
-            requiredExp = spiritling.getLevel() * 100; // 다음 레벨 필요 경험치
+        boolean changed = change.test(working);
+        eventScheduler.reschedule(working);
+        if (!changed) {
+            return false;
+        }
+        
+        copyState(working, spiritling);
+        spiritling.setSimulatedAt(now);
+        goldSink.accept(spiritling.getUserId(), goldEarned);
+        return true;
+    }
+    
+    // change를 감싸 적용한 경과 시간과 처리 전/후 상태를 recording에 남김
+    private Predicate<Spiritling> recorded(Spiritling spiritling, Predicate<Spiritling> change,
+                                           SimulationTickRecorder.Recording recording, LocalDateTime now) {
+        if (recording == null) {
+            return change;
         }
+        Spiritling before = copyState(spiritling, new Spiritling());
+        int minutes = minutesSinceAnchor(spiritling, now);
+        return projected -> {
+            boolean changed = change.test(projected);
+            recording.record(epochMinute(now) - minutes, minutes, before, projected);
+            return changed;
+        };
+    }
+    
+    private boolean crossesThreshold(Spiritling before, Spiritling after) {
+        return !before.getLevel().equals(after.getLevel())
+            || hitsFloor(before.getHunger(), after.getHunger())
+            || hitsFloor(before.getEnergy(), after.getEnergy())
+            || hitsFloor(before.getHappiness(), after.getHappiness())
+            || hitsFloor(before.getCleanliness(), after.getCleanliness());
+    }
+    
+    private boolean hitsFloor(Integer before, Integer after) {
+        return before != null && after != null && before > 0 && after == 0;
     }
     
     /**
-     * 성장 단계 업데이트
+     * 기준 시각부터 지난 분 경계 수 (최대 24시간)
+     * 초 단위 나머지를 버리지 않도록 두 시각의 에포크 분 차이로 계산하며, 구간은 epochMinute(now) - 반환값부터 시작
      */
-    private void updateGrowthStage(Spiritling spiritling) {
-        int level = spiritling.getLevel();
+    private int minutesSinceAnchor(Spiritling spiritling, LocalDateTime now) {
+        LocalDateTime anchor = spiritling.getSimulatedAt();
+        if (anchor == null) {
+            anchor = spiritling.getUpdatedAt() != null ? spiritling.getUpdatedAt() : spiritling.getCreatedAt();
+        }
+        if (anchor == null) {
+            return 0;
+        }
         
-        if (level >= 50) {
-            spiritling.setGrowthStage("elder");
-        } else if (level >= 40) {
-            spiritling.setGrowthStage("transcendent");
-        } else if (level >= 25) {
-            spiritling.setGrowthStage("adult");
-        } else if (level >= 15) {
-            spiritling.setGrowthStage("adolescent");
-        } else if (level >= 5) {
-            spiritling.setGrowthStage("infant");
-        } else {
-            spiritling.setGrowthStage("egg");
+        long minutes = epochMinute(now) - epochMinute(anchor);
+        return (int) Math.max(0, Math.min(minutes, MAX_SIMULATED_MINUTES));
+    }
+    
+    private static long epochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+    
+    private void simulateSpiritling(Spiritling spiritling, int minutes, ObjIntConsumer<String> goldSink) {
+        goldSink.accept(spiritling.getUserId(), simulationKernel.simulate(spiritling, minutes));
+    }
+    
+    private void creditGold(String userId, int goldEarned) {
+        if (goldEarned > 0) {
+            userRepository.addCoins(userId, goldEarned, LocalDateTime.now());
+            leaderboardService.addCoins(userId, goldEarned);
+        }
+    }
+    
+    /**
+     * 호출한 트랜잭션에 코인 UPDATE를 묶고, 메모리 랭킹은 커밋된 뒤에 반영
+     */
+    private void creditGoldOnCommit(String userId, int goldEarned) {
+        if (goldEarned <= 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("materialize는 정령을 저장하는 트랜잭션 안에서 호출해야 합니다.");
         }
+        userRepository.addCoins(userId, goldEarned, LocalDateTime.now());
+        AfterCommit.run(() -> leaderboardService.addCoins(userId, goldEarned));
+    }
+    
+    private Spiritling copyState(Spiritling source, Spiritling copy) {
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setElement(source.getElement());
+        copy.setPersonality(source.getPersonality());
+        copy.setGrowthStage(source.getGrowthStage());
+        copy.setLevel(source.getLevel());
+        copy.setExperience(source.getExperience());
+        copy.setHealthStat(source.getHealthStat());
+        copy.setAgilityStat(source.getAgilityStat());
+        copy.setIntelligenceStat(source.getIntelligenceStat());
+        copy.setFriendlinessStat(source.getFriendlinessStat());
+        copy.setResilienceStat(source.getResilienceStat());
+        copy.setLuckStat(source.getLuckStat());
+        copy.setHunger(source.getHunger());
+        copy.setHappiness(source.getHappiness());
+        copy.setEnergy(source.getEnergy());
+        copy.setHealthStatus(source.getHealthStatus());
+        copy.setCleanliness(source.getCleanliness());
+        copy.setCurrentAction(source.getCurrentAction());
+        copy.setActionData(source.getActionData());
+        copy.setUserId(source.getUserId());
+        copy.setSimPartition(source.getSimPartition());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setSimulatedAt(source.getSimulatedAt());
+        return copy;
+    }
+    
+    /**
+     * 시간 경과 후 적용할 행동 (자율 행동 AI 등)
+     */
+    @FunctionalInterface
+    public interface Behaviour {
+        /**
+         * @param logs 행동 로그를 남길 곳 (정령 업데이트와 같은 트랜잭션에서 기록됨)
+         * @return 정령 상태를 바꿨으면 true
+         */
+        boolean act(Spiritling spiritling, SplittableRandom random, SpiritlingAIKernel.ActionLogSink logs);
     }
 }
-
@@ -0,0 +1,110 @@
+package com.aetherisland.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 계층형 타이밍 휠 (단계당 64칸)
+ * 예약·취소는 O(1), advance()는 그 틱에 만료된 타이머 수에 비례하는 비용만 듦
+ * 키당 타이머는 하나이며 다시 예약하면 이전 타이머는 만료 시점에 버려짐
+ * 동기화하지 않으므로 호출하는 쪽에서 잠금 처리
+ */
+public class TimingWheel<K> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    
+    private final int levels;
+    private final List<List<Timer<K>>> buckets;
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private long currentTick;
+    
+    public TimingWheel(int levels) {
+        this.levels = Math.max(1, levels);
+        this.buckets = new ArrayList<>(this.levels * SLOTS);
+        for (int i = 0; i < this.levels * SLOTS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+    
+    public long currentTick() {
+        return currentTick;
+    }
+    
+    /**
+     * 예약된 타이머 수
+     */
+    public int size() {
+        return deadlines.size();
+    }
+    
+    /**
+     * delayTicks 틱 뒤에 만료되도록 예약 (최소 1틱, 같은 키의 기존 타이머는 대체)
+     */
+    public void schedule(K key, long delayTicks) {
+        long deadline = currentTick + Math.max(1, delayTicks);
+        deadlines.put(key, deadline);
+        place(new Timer<>(key, deadline));
+    }
+    
+    public void cancel(K key) {
+        deadlines.remove(key);
+    }
+    
+    /**
+     * 한 틱 진행하고 만료된 키 목록을 반환
+     */
+    public List<K> advance() {
+        currentTick++;
+        
+        // 상위 단계 칸의 구간이 시작되면 타이머를 아래 단계로 내림 (위에서부터)
+        for (int level = levels - 1; level >= 1; level--) {
+            long windowMask = (1L << (SLOT_BITS * level)) - 1;
+            if ((currentTick & windowMask) == 0) {
+                List<Timer<K>> bucket = bucket(level, currentTick);
+                List<Timer<K>> cascading = new ArrayList<>(bucket);
+                bucket.clear();
+                for (Timer<K> timer : cascading) {
+                    if (isLive(timer)) {
+                        place(timer);
+                    }
+                }
+            }
+        }
+        
+        List<Timer<K>> bucket = bucket(0, currentTick);
+        List<K> expired = new ArrayList<>();
+        for (Timer<K> timer : bucket) {
+            if (isLive(timer)) {
+                deadlines.remove(timer.key());
+                expired.add(timer.key());
+            }
+        }
+        bucket.clear();
+        return expired;
+    }
+    
+    private boolean isLive(Timer<K> timer) {
+        Long deadline = deadlines.get(timer.key());
+        return deadline != null && deadline == timer.deadline();
+    }
+    
+    private void place(Timer<K> timer) {
+        // 만료 시각과 현재 틱이 같은 상위 구간에 속하는 가장 낮은 단계에 배치
+        int level = 0;
+        while (level < levels - 1 && (timer.deadline() ^ currentTick) >>> (SLOT_BITS * (level + 1)) != 0) {
+            level++;
+        }
+        bucket(level, timer.deadline()).add(timer);
+    }
+    
+    private List<Timer<K>> bucket(int level, long tick) {
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        return buckets.get(level * SLOTS + slot);
+    }
+    
+    private record Timer<K>(K key, long deadline) {
+    }
+}
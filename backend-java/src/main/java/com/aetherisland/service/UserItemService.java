@@ -17,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,15 +31,20 @@ public class UserItemService {
     private final UserRepository userRepository;
     private final SpiritlingRepository spiritlingRepository;
     private final ActionLogRepository actionLogRepository;
+    private final SpiritlingSimulationService simulationService;
+    private final LeaderboardService leaderboardService;
     
     public UserItemService(UserItemRepository userItemRepository, ItemRepository itemRepository, 
                           UserRepository userRepository, SpiritlingRepository spiritlingRepository,
-                          ActionLogRepository actionLogRepository) {
+                          ActionLogRepository actionLogRepository, SpiritlingSimulationService simulationService,
+                          LeaderboardService leaderboardService) {
         this.userItemRepository = userItemRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.spiritlingRepository = spiritlingRepository;
         this.actionLogRepository = actionLogRepository;
+        this.simulationService = simulationService;
+        this.leaderboardService = leaderboardService;
     }
     
     public List<UserItemResponse> getUserItems(String userId) {
@@ -65,16 +71,17 @@ public class UserItemService {
             .orElseThrow(() -> new ApiException("사용자를 찾을 수 없습니다.", HttpStatus.NOT_FOUND));
         
         Integer totalPrice = item.getPrice() * quantity;
-        if (user.getCoins() < totalPrice) {
+        
+        // 코인 차감 (잔액 확인과 차감을 한 UPDATE로 처리해 시뮬레이션 골드 지급과 충돌하지 않도록 함)
+        if (userRepository.spendCoins(userId, totalPrice, LocalDateTime.now()) == 0) {
             throw new ApiException(
                 String.format("코인이 부족합니다. 필요: %d, 보유: %d", totalPrice, user.getCoins()),
                 HttpStatus.BAD_REQUEST
             );
         }
-        
-        // 코인 차감
-        user.setCoins(user.getCoins() - totalPrice);
-        userRepository.save(user);
+        AfterCommit.run(() -> leaderboardService.addCoins(userId, -totalPrice));
+        user = userRepository.findById(userId)
+            .orElseThrow(() -> new ApiException("사용자를 찾을 수 없습니다.", HttpStatus.NOT_FOUND));
         
         // 사용자 아이템 추가 또는 수량 증가
         UserItem userItem = userItemRepository.findByUserIdAndItemId(userId, itemId)
@@ -128,6 +135,9 @@ public class UserItemService {
             throw new ApiException("마정령을 찾을 수 없습니다.", HttpStatus.NOT_FOUND);
         }
         
+        // lazy 모드: 경과 시간만큼 상태를 먼저 반영
+        simulationService.materialize(spiritling);
+        
         // 아이템 효과 적용
         Map<String, Object> effect = item.getEffect();
         if (effect != null) {
@@ -163,6 +173,7 @@ public class UserItemService {
         }
         
         spiritlingRepository.save(spiritling);
+        simulationService.onChanged(spiritling);
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", item.getName() + " " + quantity + "개를 사용했습니다.");
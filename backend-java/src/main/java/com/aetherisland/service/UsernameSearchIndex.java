@@ -0,0 +1,258 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 유저 이름 부분 검색 인덱스 (대소문자 무시)
+ * 소문자로 바꾼 이름을 정렬 맵(접두어 범위 조회)과 1~3글자 조각(n-gram)별 유저 번호 목록으로 보관
+ * 접두어 일치를 먼저, 나머지 부분 일치를 뒤에 반환하며 limit개를 채우면 바로 탐색을 멈춤
+ * 1~2글자 검색어는 같은 길이 조각 목록이 곧 일치 목록이라 전체 유저를 훑지 않음
+ * 가입은 커밋된 뒤 바로 반영하고, 다른 노드에서 가입한 유저는 friend.search.rebuild-interval-ms마다 다시 적재해 반영
+ */
+@Service
+public class UsernameSearchIndex {
+    private static final String USERS_SQL = "SELECT id, username FROM users";
+    private static final int GRAM_LENGTH = 3;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final long rebuildIntervalMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "username-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // lock으로 보호 (다시 적재할 때 통째로 교체)
+    private Index index = new Index();
+    // 다시 적재하는 동안 가입한 유저 (lock으로 보호, 적재 중이 아니면 null)
+    private List<User> pendingUsers;
+    
+    public UsernameSearchIndex(
+        JdbcTemplate jdbcTemplate,
+        @Value("${friend.search.rebuild-interval-ms:60000}") long rebuildIntervalMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+    }
+    
+    @PostConstruct
+    public void start() {
+        rebuild();
+        // 다른 노드에서 가입한 유저를 주기적으로 반영 (0이면 시작 시에만 적재)
+        if (rebuildIntervalMillis > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuild, rebuildIntervalMillis, rebuildIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+    
+    /**
+     * DB의 모든 유저 이름을 다시 적재 (새 인덱스를 잠금 밖에서 만든 뒤 교체)
+     * 적재 중에 가입한 유저는 교체 직전에 새 인덱스에 추가
+     */
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingUsers = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Index loaded = new Index();
+            jdbcTemplate.query(USERS_SQL, rs -> {
+                loaded.add(rs.getString("id"), rs.getString("username"));
+            });
+            
+            lock.writeLock().lock();
+            try {
+                pendingUsers.forEach(user -> loaded.add(user.getId(), user.getUsername()));
+                index = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("✅ 유저 이름 검색 인덱스 적재 완료: " + loaded.ids.size() + "명, 조각 "
+                + loaded.postings.size() + "개 (" + (System.currentTimeMillis() - startedAt) + "ms)");
+        } catch (Exception e) {
+            System.err.println("Error rebuilding username index: " + e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingUsers = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * 가입 반영 (유저 저장이 커밋된 뒤 호출)
+     */
+    public void onUserCreated(User user) {
+        lock.writeLock().lock();
+        try {
+            index.add(user.getId(), user.getUsername());
+            if (pendingUsers != null) {
+                pendingUsers.add(user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 이름에 query가 포함된 유저 id (접두어 일치 → 부분 일치 순, 최대 limit개)
+     * @param excludeUserId 결과에서 뺄 유저 (검색한 본인)
+     */
+    public List<String> search(String query, String excludeUserId, int limit) {
+        String needle = query != null ? query.toLowerCase(Locale.ROOT) : "";
+        lock.readLock().lock();
+        try {
+            return index.search(needle, excludeUserId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static class Index {
+        private final List<String> ids = new ArrayList<>();
+        // 이미 들어 있는 유저 (적재 중 가입한 유저를 DB에서 읽은 것과 겹쳐 다시 추가하지 않도록)
+        private final Set<String> present = new HashSet<>();
+        private final List<String> names = new ArrayList<>();
+        // "소문자 이름\0유저 번호" → 유저 번호 (같은 이름도 구분, 사전순이 곧 접두어 범위)
+        private final TreeMap<String, Integer> byName = new TreeMap<>();
+        // n-gram(1~3글자) → 유저 번호 목록 (번호 오름차순, 번호는 추가 순서라 뒤에 붙이기만 하면 정렬 유지)
+        private final Map<Long, Postings> postings = new HashMap<>();
+        
+        void add(String userId, String username) {
+            if (userId == null || username == null || !present.add(userId)) {
+                return;
+            }
+            int number = ids.size();
+            String name = username.toLowerCase(Locale.ROOT);
+            ids.add(userId);
+            names.add(name);
+            byName.put(name + '\0' + number, number);
+            
+            Set<Long> seen = new HashSet<>();
+            for (int length = 1; length <= GRAM_LENGTH; length++) {
+                for (int i = 0; i + length <= name.length(); i++) {
+                    long gram = gram(name, i, length);
+                    if (seen.add(gram)) {
+                        postings.computeIfAbsent(gram, key -> new Postings()).add(number);
+                    }
+                }
+            }
+        }
+        
+        List<String> search(String needle, String excludeUserId, int limit) {
+            List<String> result = new ArrayList<>(Math.max(limit, 0));
+            if (limit <= 0) {
+                return result;
+            }
+            Set<Integer> prefixMatches = new HashSet<>();
+            
+            // 1) 접두어 일치 (사전순)
+            for (Integer number : byName.subMap(needle, true, needle + Character.MAX_VALUE, true).values()) {
+                if (result.size() == limit) return result;
+                if (collect(number, excludeUserId, result)) {
+                    prefixMatches.add(number);
+                }
+            }
+            
+            // 2) 나머지 부분 일치 (가입 순, 빈 검색어는 접두어 일치가 전부)
+            if (needle.isEmpty()) {
+                return result;
+            }
+            
+            // 가장 짧은 목록을 순회하면서 나머지 목록은 이진 탐색으로 교집합 확인
+            // (3글자 미만 검색어는 조각 하나가 검색어 전체라 그 목록만 순회)
+            int length = Math.min(needle.length(), GRAM_LENGTH);
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + length <= needle.length(); i++) {
+                Postings list = postings.get(gram(needle, i, length));
+                if (list == null) {
+                    return result;
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+            Postings shortest = lists.get(0);
+            for (int i = 0; i < shortest.size && result.size() < limit; i++) {
+                int number = shortest.numbers[i];
+                if (prefixMatches.contains(number) || !containsAll(lists, number)) {
+                    continue;
+                }
+                // 조각이 모두 있어도 이어져 있지 않을 수 있으므로 실제 포함 여부 확인
+                if (names.get(number).contains(needle)) {
+                    collect(number, excludeUserId, result);
+                }
+            }
+            return result;
+        }
+        
+        private boolean collect(int number, String excludeUserId, List<String> result) {
+            String userId = ids.get(number);
+            if (userId.equals(excludeUserId)) {
+                return false;
+            }
+            result.add(userId);
+            return true;
+        }
+        
+        private static boolean containsAll(List<Postings> lists, int number) {
+            for (int i = 1; i < lists.size(); i++) {
+                Postings list = lists.get(i);
+                if (Arrays.binarySearch(list.numbers, 0, list.size, number) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // 글자당 16비트, 길이는 48비트 위에 두어 길이가 다른 조각끼리 겹치지 않게 함
+        private static long gram(String value, int offset, int length) {
+            long key = length;
+            for (int i = 0; i < length; i++) {
+                key = (key << 16) | value.charAt(offset + i);
+            }
+            return key << (16 * (GRAM_LENGTH - length));
+        }
+    }
+    
+    private static class Postings {
+        private int[] numbers = new int[2];
+        private int size;
+        
+        void add(int number) {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size++] = number;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.aetherisland.service;
+
+import com.aetherisland.repository.FriendRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마을 화면 친구 목록 캐시
+ * 유저별로 친구 정보와 친구의 정령 수를 쿼리 한 번(FriendRepository.findVillageFriends)으로 읽어 보관
+ * 친구 관계가 바뀌면 두 유저 목록을, 정령이 생기거나 없어지면 그 유저 친구들의 목록을 비움
+ * 다른 노드의 변경은 ttl-ms가 지나면 다시 읽어 반영
+ */
+@Service
+public class VillageService {
+    private final FriendRepository friendRepository;
+    private final FriendGraphService friendGraph;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<String, CachedVillage> cache = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "village-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public VillageService(
+        FriendRepository friendRepository,
+        FriendGraphService friendGraph,
+        @Value("${village.cache.ttl-ms:60000}") long ttlMillis
+    ) {
+        this.friendRepository = friendRepository;
+        this.friendGraph = friendGraph;
+        this.ttlMillis = Math.max(ttlMillis, 0);
+    }
+    
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(ttlMillis, 1000);
+        cleaner.scheduleWithFixedDelay(this::evictExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+    
+    public List<Neighbor> friendsOf(String userId) {
+        long now = System.currentTimeMillis();
+        CachedVillage cached = cache.get(userId);
+        if (cached == null || now - cached.loadedAt > ttlMillis) {
+            // compute는 같은 키에 대해 직렬화되므로 동시에 열어도 한 번만 조회
+            cached = cache.compute(userId, (id, current) ->
+                current != null && System.currentTimeMillis() - current.loadedAt <= ttlMillis ? current : load(id));
+        }
+        return cached.neighbors;
+    }
+    
+    /**
+     * 친구 관계 변경(요청·수락·거절·삭제) 반영
+     */
+    public void onRelationChanged(String userId, String otherId) {
+        cache.remove(userId);
+        cache.remove(otherId);
+    }
+    
+    /**
+     * 정령 생성·삭제 반영 (이 유저를 친구로 둔 유저들의 정령 수가 바뀜)
+     */
+    public void onSpiritlingCountChanged(String userId) {
+        for (String friendId : friendGraph.friendIdsOf(userId)) {
+            cache.remove(friendId);
+        }
+    }
+    
+    private CachedVillage load(String userId) {
+        List<Neighbor> neighbors = friendRepository.findVillageFriends(userId).stream()
+            .map(row -> new Neighbor(row.getId(), row.getUsername(), row.getEmail(),
+                row.getSpiritlingCount() != null ? row.getSpiritlingCount() : 0L, row.getCreatedAt()))
+            .toList();
+        return new CachedVillage(neighbors, System.currentTimeMillis());
+    }
+    
+    private void evictExpired() {
+        try {
+            long now = System.currentTimeMillis();
+            cache.entrySet().removeIf(entry -> now - entry.getValue().loadedAt > ttlMillis);
+        } catch (Exception e) {
+            System.err.println("Error evicting village cache: " + e.getMessage());
+        }
+    }
+    
+    public record Neighbor(String id, String username, String email, long spiritlingCount, LocalDateTime createdAt) {
+    }
+    
+    private record CachedVillage(List<Neighbor> neighbors, long loadedAt) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.aetherisland.service;
+
+import com.aetherisland.entity.Spiritling;
+import com.aetherisland.entity.User;
+import com.aetherisland.repository.SimulationLeaseRepository;
+import com.aetherisland.repository.SimulationNodeRepository;
+import com.aetherisland.repository.SpiritlingRepository;
+import com.aetherisland.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 한 프로세스에서 시뮬레이션 노드 여러 개를 내장 DB(H2)에 붙여 돌리면서 노드를 추가·종료해 파티션을 재배치
+ * 두 노드가 같은 정령을 동시에 처리하면 한쪽 갱신이 유실되므로, 정령마다 경험치 증가량과 처리 로그 수가 같아야 함
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:lease-fencing;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "logging.level.org.hibernate.SQL=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SimulationLeaseFencingTest {
+    private static final int USERS = 60;
+    private static final int SPIRITLINGS_PER_USER = 5;
+    private static final long LEASE_TTL_MS = 2000;
+    private static final long HEARTBEAT_MS = 100;
+    private static final long SAFETY_MARGIN_MS = 500;
+    
+    @Autowired
+    private SpiritlingRepository spiritlingRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private SimulationLeaseRepository leaseRepository;
+    
+    @Autowired
+    private SimulationNodeRepository nodeRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void rebalancingNodesNeverSimulateTheSameSpiritlingTwice() throws Exception {
+        createSpiritlings();
+        
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add(startNode());
+        }
+        awaitAllPartitionsOwned(nodes);
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> loops = new ArrayList<>();
+        for (Node node : nodes) {
+            loops.add(node.loop(running));
+        }
+        
+        // 틱이 도는 중에 노드를 추가(남는 파티션 반납)하고 종료(전체 반납)
+        for (int i = 0; i < 2; i++) {
+            Thread.sleep(1000);
+            Node joined = startNode();
+            nodes.add(joined);
+            loops.add(joined.loop(running));
+        }
+        for (int i = 0; i < 2; i++) {
+            Thread.sleep(1000);
+            nodes.get(i).stop();
+        }
+        Thread.sleep(1000);
+        
+        running.set(false);
+        for (Thread loop : loops) {
+            loop.join(10_000);
+        }
+        for (Node node : nodes) {
+            node.stop();
+        }
+        
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT s.id, s.experience, (SELECT COUNT(*) FROM action_logs l WHERE l.spiritling_id = s.id) AS applied " +
+            "FROM spiritlings s");
+        assertThat(rows).hasSize(USERS * SPIRITLINGS_PER_USER);
+        long total = 0;
+        for (Map<String, Object> row : rows) {
+            long applied = ((Number) row.get("applied")).longValue();
+            assertThat(((Number) row.get("experience")).longValue())
+                .as("정령 %s의 갱신 유실 (중복 처리)", row.get("id"))
+                .isEqualTo(applied);
+            total += applied;
+        }
+        assertThat(total).isPositive();
+    }
+    
+    private void createSpiritlings() {
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setUsername("fencing-user-" + u);
+            user.setEmail("fencing-user-" + u + "@example.com");
+            user.setHashedPassword("x");
+            user = userRepository.save(user);
+            for (int s = 0; s < SPIRITLINGS_PER_USER; s++) {
+                Spiritling spiritling = new Spiritling();
+                spiritling.setName("정령" + s);
+                spiritling.setElement("fire");
+                spiritling.setPersonality("normal");
+                spiritling.setUserId(user.getId());
+                spiritlingRepository.save(spiritling);
+            }
+        }
+    }
+    
+    private Node startNode() {
+        LeaderboardService leaderboardService = mock(LeaderboardService.class);
+        SimulationLeaseManager leaseManager = new SimulationLeaseManager(leaseRepository, nodeRepository, jdbcTemplate,
+            true, "", LEASE_TTL_MS, HEARTBEAT_MS, SAFETY_MARGIN_MS);
+        SpiritlingSimulationEngine engine = new SpiritlingSimulationEngine(spiritlingRepository, leaseManager,
+            leaderboardService, new CoinLedger(jdbcTemplate, transactionManager, leaderboardService),
+            jdbcTemplate, transactionManager, 20, 2);
+        leaseManager.start();
+        return new Node(leaseManager, engine);
+    }
+    
+    private void awaitAllPartitionsOwned(List<Node> nodes) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            int owned = nodes.stream().mapToInt(node -> node.leaseManager.ownedPartitions().size()).sum();
+            if (owned == Spiritling.SIMULATION_PARTITIONS) {
+                return;
+            }
+            Thread.sleep(HEARTBEAT_MS);
+        }
+        throw new AssertionError("파티션이 노드에 모두 배정되지 않았습니다.");
+    }
+    
+    private record Node(SimulationLeaseManager leaseManager, SpiritlingSimulationEngine engine) {
+        Thread loop(AtomicBoolean running) {
+            Thread thread = new Thread(() -> {
+                while (running.get()) {
+                    engine.run((spiritling, logs) -> {
+                        // 페이지 처리를 늘려 틱 도중에 재배치가 일어나게 함
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        spiritling.setExperience(spiritling.getExperience() + 1);
+                        logs.log(spiritling.getId(), "fencing_test", leaseManager.getNodeId());
+                        return true;
+                    });
+                }
+            }, "fencing-" + leaseManager.getNodeId());
+            thread.start();
+            return thread;
+        }
+        
+        void stop() {
+            leaseManager.shutdown();
+            engine.shutdown();
+        }
+    }
+}